@@ -0,0 +1,96 @@
+package com.afs.restapi.benchmark;
+
+import com.afs.restapi.RestapiApplication;
+import com.afs.restapi.dto.EmployeeBatchResult;
+import com.afs.restapi.entity.Company;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.service.CompanyService;
+import com.afs.restapi.service.EmployeeService;
+import com.afs.restapi.service.ReactiveEmployeeService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Profiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+final class BenchmarkApplication {
+
+    private static final int SEED_CHUNK_SIZE = 10_000;
+    private static final String[] GENDERS = {"Male", "Female"};
+    private static final String REACTIVE = "reactive";
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return builder("benchmark_" + UUID.randomUUID())
+                .web(WebApplicationType.NONE)
+                .properties(properties)
+                .run();
+    }
+
+    static ConfigurableApplicationContext startWeb(String stack, String... properties) {
+        String databaseName = "benchmark_" + UUID.randomUUID();
+        return builder(databaseName)
+                .profiles(REACTIVE.equals(stack) ? new String[]{REACTIVE} : new String[0])
+                .properties(
+                        "server.port=0",
+                        "spring.r2dbc.url=r2dbc:h2:mem:///" + databaseName,
+                        "spring.r2dbc.username=sa",
+                        "spring.r2dbc.password=",
+                        "spring.threads.virtual.enabled=" + "servlet-virtual".equals(stack))
+                .properties(properties)
+                .run();
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    private static SpringApplicationBuilder builder(String databaseName) {
+        return new SpringApplicationBuilder(RestapiApplication.class)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "concurrency-limit.enabled=false",
+                        "logging.level.root=warn");
+    }
+
+    static List<Company> seedCompanies(ConfigurableApplicationContext context, int companyCount) {
+        CompanyService companyService = context.getBean(CompanyService.class);
+        List<Company> companies = new ArrayList<>(companyCount);
+        for (int index = 0; index < companyCount; index++) {
+            companies.add(companyService.create(new Company(null, "company" + index)));
+        }
+        return companies;
+    }
+
+    static List<Employee> seedEmployees(ConfigurableApplicationContext context, int employeeCount, List<Company> companies) {
+        Function<List<Employee>, EmployeeBatchResult> createAll = context.getEnvironment().acceptsProfiles(Profiles.of(REACTIVE))
+                ? batch -> context.getBean(ReactiveEmployeeService.class).createAll(batch).block()
+                : context.getBean(EmployeeService.class)::createAll;
+        List<Employee> employees = new ArrayList<>(employeeCount);
+        for (int chunkStart = 0; chunkStart < employeeCount; chunkStart += SEED_CHUNK_SIZE) {
+            int chunkEnd = Math.min(chunkStart + SEED_CHUNK_SIZE, employeeCount);
+            List<Employee> chunk = new ArrayList<>(chunkEnd - chunkStart);
+            for (int index = chunkStart; index < chunkEnd; index++) {
+                chunk.add(newEmployee(index, companies.isEmpty() ? null : companies.get(index % companies.size()).getId()));
+            }
+            employees.addAll(createAll.apply(chunk).getCreated());
+        }
+        return employees;
+    }
+
+    static Employee newEmployee(int index, Long companyId) {
+        Employee employee = new Employee(null, "employee" + index, 18 + index % 48, GENDERS[index % 2], 3000 + index % 50_000);
+        employee.setCompanyId(companyId);
+        return employee;
+    }
+}
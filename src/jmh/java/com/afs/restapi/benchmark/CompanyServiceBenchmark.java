@@ -0,0 +1,61 @@
+package com.afs.restapi.benchmark;
+
+import com.afs.restapi.entity.Company;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.service.CompanyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompanyServiceBenchmark {
+
+    @Param({"100"})
+    private int companyCount;
+
+    @Param({"1000", "100000"})
+    private int employeeCount;
+
+    private ConfigurableApplicationContext context;
+    private CompanyService companyService;
+    private List<Company> companies;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        companyService = context.getBean(CompanyService.class);
+        companies = BenchmarkApplication.seedCompanies(context, companyCount);
+        BenchmarkApplication.seedEmployees(context, employeeCount, companies);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Employee> findEmployeesByCompanyId() {
+        Company company = companies.get(ThreadLocalRandom.current().nextInt(companies.size()));
+        return companyService.findEmployeesByCompanyId(company.getId());
+    }
+}
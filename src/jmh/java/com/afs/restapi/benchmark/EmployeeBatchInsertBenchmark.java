@@ -0,0 +1,71 @@
+package com.afs.restapi.benchmark;
+
+import com.afs.restapi.dto.EmployeeBatchResult;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeBatchInsertBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        employeeService = context.getBean(EmployeeService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void createOneByOne(Blackhole blackhole) {
+        for (Employee employee : newEmployees()) {
+            blackhole.consume(employeeService.create(employee));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public EmployeeBatchResult createAll() {
+        return employeeService.createAll(newEmployees());
+    }
+
+    private static List<Employee> newEmployees() {
+        List<Employee> employees = new ArrayList<>(ROWS);
+        for (int index = 0; index < ROWS; index++) {
+            employees.add(BenchmarkApplication.newEmployee(index, null));
+        }
+        return employees;
+    }
+}
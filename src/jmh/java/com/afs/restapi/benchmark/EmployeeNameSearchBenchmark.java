@@ -0,0 +1,89 @@
+package com.afs.restapi.benchmark;
+
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.repository.EmployeeJPARepository;
+import com.afs.restapi.service.EmployeeNameIndex;
+import com.afs.restapi.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeNameSearchBenchmark {
+
+    private static final int LIMIT = 20;
+
+    @Param({"10000", "100000"})
+    private int employeeCount;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeNameIndex employeeNameIndex;
+    private EmployeeService employeeService;
+    private EmployeeJPARepository employeeJPARepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        employeeNameIndex = context.getBean(EmployeeNameIndex.class);
+        employeeService = context.getBean(EmployeeService.class);
+        employeeJPARepository = context.getBean(EmployeeJPARepository.class);
+        BenchmarkApplication.seedEmployees(context, employeeCount, List.of());
+        employeeNameIndex.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<List<Long>> containsFromIndex() {
+        return employeeNameIndex.findIdsContaining(randomFragment(), LIMIT);
+    }
+
+    @Benchmark
+    public Optional<List<Long>> prefixFromIndex() {
+        return employeeNameIndex.findIdsStartingWith("employee" + randomNumber(), LIMIT);
+    }
+
+    @Benchmark
+    public List<Employee> containsFromService() {
+        return employeeService.findByNameContaining(randomFragment(), LIMIT);
+    }
+
+    @Benchmark
+    public List<Employee> containsFromSqlLike() {
+        return employeeJPARepository.findByNameContainingIgnoreCaseOrderByIdAsc(randomFragment(), PageRequest.of(0, LIMIT));
+    }
+
+    private String randomFragment() {
+        String number = randomNumber();
+        return "ee" + number.substring(0, Math.min(number.length(), 3));
+    }
+
+    private String randomNumber() {
+        return String.valueOf(ThreadLocalRandom.current().nextInt(employeeCount));
+    }
+}
@@ -0,0 +1,67 @@
+package com.afs.restapi.benchmark;
+
+import com.afs.restapi.dto.CursorPage;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeePagingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100000"})
+    private int employeeCount;
+
+    @Param({"1", "100", "4000"})
+    private int pageNumber;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private String cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        employeeService = context.getBean(EmployeeService.class);
+        List<Employee> employees = BenchmarkApplication.seedEmployees(context, employeeCount, List.of());
+        int offset = Math.min((pageNumber - 1) * PAGE_SIZE, employees.size());
+        cursor = offset == 0 ? null : CursorPage.encode(employees.get(offset - 1).getId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Employee> findByPage() {
+        return employeeService.findByPage(pageNumber, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<Employee> findByCursor() {
+        return employeeService.findByCursor(cursor, PAGE_SIZE);
+    }
+}
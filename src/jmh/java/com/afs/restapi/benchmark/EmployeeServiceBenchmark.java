@@ -0,0 +1,75 @@
+package com.afs.restapi.benchmark;
+
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.repository.EmployeeJPARepository;
+import com.afs.restapi.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000", "100000"})
+    private int employeeCount;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private EmployeeJPARepository employeeJPARepository;
+    private long minId;
+    private long maxId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        employeeService = context.getBean(EmployeeService.class);
+        employeeJPARepository = context.getBean(EmployeeJPARepository.class);
+        List<Employee> employees = BenchmarkApplication.seedEmployees(context, employeeCount, List.of());
+        minId = employees.get(0).getId();
+        maxId = employees.get(employees.size() - 1).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee findById() {
+        return employeeService.findById(randomId());
+    }
+
+    @Benchmark
+    public Employee findByIdFromRepository() {
+        return employeeJPARepository.findById(randomId()).orElseThrow();
+    }
+
+    @Benchmark
+    public List<Employee> findAllByGender() {
+        return employeeService.findAllByGender("Female");
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(minId, maxId + 1);
+    }
+}
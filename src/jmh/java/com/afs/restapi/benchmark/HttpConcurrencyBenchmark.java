@@ -0,0 +1,108 @@
+package com.afs.restapi.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import com.afs.restapi.entity.Employee;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class HttpConcurrencyBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"servlet", "servlet-virtual", "reactive"})
+    private String stack;
+
+    @Param({"16", "256", "1024"})
+    private int concurrency;
+
+    @Param({"10000"})
+    private int employeeCount;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private int pageCount;
+    private long[] employeeIds;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Requests {
+        public long succeeded;
+        public long failed;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.startWeb(stack);
+        employeeIds = BenchmarkApplication.seedEmployees(context, employeeCount, List.of()).stream()
+                .mapToLong(Employee::getId)
+                .toArray();
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        baseUrl = "http://localhost:" + BenchmarkApplication.port(context);
+        pageCount = employeeCount / PAGE_SIZE;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void findEmployeesByPage(Requests requests) {
+        sendConcurrently(requests, () -> "/employees?pageNumber=" + (ThreadLocalRandom.current().nextInt(pageCount) + 1)
+                + "&pageSize=" + PAGE_SIZE);
+    }
+
+    @Benchmark
+    public void findEmployeeById(Requests requests) {
+        sendConcurrently(requests, () -> "/employees/" + employeeIds[ThreadLocalRandom.current().nextInt(employeeIds.length)]);
+    }
+
+    private void sendConcurrently(Requests requests, Supplier<String> paths) {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[concurrency];
+        for (int index = 0; index < concurrency; index++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + paths.get()))
+                    .GET()
+                    .build();
+            responses[index] = httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenAccept(response -> {
+                        synchronized (requests) {
+                            if (response.statusCode() == 200) {
+                                requests.succeeded++;
+                            } else {
+                                requests.failed++;
+                            }
+                        }
+                    });
+        }
+        CompletableFuture.allOf(responses).join();
+    }
+}
@@ -0,0 +1,106 @@
+package com.afs.restapi.benchmark;
+
+import com.afs.restapi.entity.Company;
+import com.afs.restapi.entity.Employee;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int EMPLOYEES_PER_COMPANY = 10;
+
+    @Param({"100", "10000"})
+    private int employeeCount;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private List<Employee> employees;
+    private List<Company> companies;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long bytes;
+        public long gzipBytes;
+    }
+
+    @Setup
+    public void setUp() {
+        objectMapper = objectMapperBuilder(format).build();
+        employees = new ArrayList<>(employeeCount);
+        companies = new ArrayList<>(employeeCount / EMPLOYEES_PER_COMPANY);
+        for (int index = 0; index < employeeCount; index++) {
+            if (index % EMPLOYEES_PER_COMPANY == 0) {
+                Company company = new Company((long) companies.size() + 1, "company" + companies.size());
+                company.setEmployees(new ArrayList<>());
+                companies.add(company);
+            }
+            Company company = companies.get(companies.size() - 1);
+            Employee employee = BenchmarkApplication.newEmployee(index, company.getId());
+            employee.setId((long) index + 1);
+            employees.add(employee);
+            company.getEmployees().add(employee);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeEmployees(PayloadSize payloadSize) throws JsonProcessingException {
+        byte[] payload = objectMapper.writeValueAsBytes(employees);
+        payloadSize.bytes = payload.length;
+        return payload;
+    }
+
+    @Benchmark
+    public byte[] serializeAndGzipEmployees(PayloadSize payloadSize) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            objectMapper.writeValue(gzip, employees);
+        }
+        payloadSize.gzipBytes = compressed.size();
+        return compressed.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] serializeCompanies() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(companies);
+    }
+
+    private static Jackson2ObjectMapperBuilder objectMapperBuilder(String format) {
+        switch (format) {
+            case "cbor":
+                return Jackson2ObjectMapperBuilder.cbor();
+            case "smile":
+                return Jackson2ObjectMapperBuilder.smile();
+            default:
+                return Jackson2ObjectMapperBuilder.json();
+        }
+    }
+}
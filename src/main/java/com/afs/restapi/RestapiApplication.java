@@ -2,12 +2,16 @@ package com.afs.restapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 
 @SpringBootApplication
 public class RestapiApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(RestapiApplication.class, args);
+		ConfigurableApplicationContext context = SpringApplication.run(RestapiApplication.class, args);
+		if (context.getEnvironment().getProperty("startup.exit-after-ready", Boolean.class, false)) {
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 
 }
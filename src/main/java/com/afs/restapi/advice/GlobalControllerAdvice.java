@@ -1,13 +1,22 @@
 package com.afs.restapi.advice;
 
 import com.afs.restapi.exception.CompanyNotFoundException;
+import com.afs.restapi.exception.ConcurrencyLimitExceededException;
 import com.afs.restapi.exception.EmployeeCreateException;
 import com.afs.restapi.exception.EmployeeNotFoundException;
+import com.afs.restapi.exception.InvalidCursorException;
+import com.afs.restapi.exception.InvalidGroupByException;
+import com.afs.restapi.exception.InvalidSortException;
+import com.afs.restapi.exception.VersionMismatchException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import javax.servlet.http.HttpServletResponse;
+
 @RestControllerAdvice
 public class GlobalControllerAdvice {
 
@@ -17,9 +26,24 @@ public class GlobalControllerAdvice {
         return new ErrorResponse(HttpStatus.NOT_FOUND.value(), exception.getMessage());
     }
 
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    @ExceptionHandler({VersionMismatchException.class, ObjectOptimisticLockingFailureException.class})
+    public ErrorResponse handlePreconditionFailedException() {
+        return new ErrorResponse(HttpStatus.PRECONDITION_FAILED.value(), new VersionMismatchException().getMessage());
+    }
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
-    @ExceptionHandler({EmployeeCreateException.class})
+    @ExceptionHandler({EmployeeCreateException.class, InvalidCursorException.class, InvalidGroupByException.class,
+            InvalidSortException.class})
     public ErrorResponse handleBadRequestException(Exception exception) {
         return new ErrorResponse(HttpStatus.BAD_REQUEST.value(), exception.getMessage());
     }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ErrorResponse handleServiceUnavailableException(ConcurrencyLimitExceededException exception,
+                                                           HttpServletResponse response) {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()));
+        return new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), exception.getMessage());
+    }
 }
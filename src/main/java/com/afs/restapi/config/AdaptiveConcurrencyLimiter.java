@@ -0,0 +1,67 @@
+package com.afs.restapi.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile int limit;
+    private long lastDecreaseNanos = System.nanoTime();
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties.Budget budget, Duration latencyThreshold, double backoffRatio) {
+        this.minLimit = budget.getMinLimit();
+        this.maxLimit = budget.getMaxLimit();
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.min(Math.max(budget.getInitialLimit(), minLimit), maxLimit);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long startNanos, boolean dropped) {
+        int inFlightBeforeRelease = inFlight.getAndDecrement();
+        onSample(startNanos, System.nanoTime(), inFlightBeforeRelease, dropped);
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    private synchronized void onSample(long startNanos, long endNanos, int inFlightBeforeRelease, boolean dropped) {
+        if (dropped || endNanos - startNanos > latencyThresholdNanos) {
+            // Requests that started before the last decrease were slowed by the old limit; count them once.
+            if (startNanos - lastDecreaseNanos > 0) {
+                limit = Math.max(minLimit, (int) (limit * backoffRatio));
+                lastDecreaseNanos = endNanos;
+            }
+        } else if (inFlightBeforeRelease * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.afs.restapi.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE + 1)
+public class CacheConfig {
+
+    public static final String EMPLOYEES = "employees";
+    public static final String COMPANIES = "companies";
+}
@@ -0,0 +1,63 @@
+package com.afs.restapi.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "concurrency-limit", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public ConcurrencyLimitConfig(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter readConcurrencyLimiter() {
+        return registerMetrics("read", new AdaptiveConcurrencyLimiter(properties.getRead(),
+                properties.getLatencyThreshold(), properties.getBackoffRatio()));
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter writeConcurrencyLimiter() {
+        return registerMetrics("write", new AdaptiveConcurrencyLimiter(properties.getWrite(),
+                properties.getLatencyThreshold(), properties.getBackoffRatio()));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        long retryAfterSeconds = Math.max(1, (properties.getRetryAfter().toMillis() + 999) / 1000);
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(readConcurrencyLimiter(), writeConcurrencyLimiter(),
+                        retryAfterSeconds))
+                .addPathPatterns("/employees", "/employees/**", "/companies", "/companies/**");
+    }
+
+    private AdaptiveConcurrencyLimiter registerMetrics(String budget, AdaptiveConcurrencyLimiter limiter) {
+        Gauge.builder("http.server.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("budget", budget)
+                .register(meterRegistry);
+        Gauge.builder("http.server.concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently holding a concurrency permit")
+                .tag("budget", budget)
+                .register(meterRegistry);
+        FunctionCounter.builder("http.server.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                .description("Requests rejected because the concurrency limit was reached")
+                .tag("budget", budget)
+                .register(meterRegistry);
+        return limiter;
+    }
+}
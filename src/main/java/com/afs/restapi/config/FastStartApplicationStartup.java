@@ -0,0 +1,27 @@
+package com.afs.restapi.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.Profiles;
+
+public class FastStartApplicationStartup implements EnvironmentPostProcessor, Ordered {
+
+    private static final String PROFILE = "fast-start";
+
+    private static final int STARTUP_STEP_CAPACITY = 4096;
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (environment.acceptsProfiles(Profiles.of(PROFILE))) {
+            application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
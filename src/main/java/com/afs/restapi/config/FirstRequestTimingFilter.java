@@ -0,0 +1,54 @@
+package com.afs.restapi.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Profile("!reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FirstRequestTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FirstRequestTimingFilter.class);
+    private static final long NOT_SERVED = -1;
+
+    private final AtomicLong firstRequestMillis = new AtomicLong(NOT_SERVED);
+
+    public FirstRequestTimingFilter(MeterRegistry meterRegistry) {
+        TimeGauge.builder("application.first.request.time", firstRequestMillis, TimeUnit.MILLISECONDS,
+                        millis -> millis.get() == NOT_SERVED ? Double.NaN : millis.get())
+                .description("Time from JVM start until the first request was served")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (firstRequestMillis.get() == NOT_SERVED) {
+                long uptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+                if (firstRequestMillis.compareAndSet(NOT_SERVED, uptimeMillis)) {
+                    LOGGER.info("First request {} {} served {} ms after JVM start", request.getMethod(),
+                            request.getRequestURI(), uptimeMillis);
+                }
+            }
+        }
+    }
+}
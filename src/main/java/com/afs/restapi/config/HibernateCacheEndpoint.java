@@ -0,0 +1,62 @@
+package com.afs.restapi.config;
+
+import com.afs.restapi.dto.CacheRegionStats;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Component
+@Profile("!reactive")
+@Endpoint(id = "hibernatecaches")
+public class HibernateCacheEndpoint {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public HibernateCacheEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @ReadOperation
+    public Map<String, List<CacheRegionStats>> cacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, List<CacheRegionStats>> stats = new LinkedHashMap<>();
+        stats.put("regions", Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> regionStats(region, statistics.getCacheRegionStatistics(region)))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+        stats.put("queries", Arrays.stream(statistics.getQueries())
+                .sorted()
+                .map(query -> queryStats(query, statistics.getQueryStatistics(query)))
+                .filter(query -> query.getHitCount() + query.getMissCount() + query.getPutCount() > 0)
+                .collect(Collectors.toList()));
+        return stats;
+    }
+
+    private static CacheRegionStats regionStats(String region, CacheRegionStatistics statistics) {
+        if (statistics == null) {
+            return null;
+        }
+        long size = statistics.getElementCountInMemory();
+        return new CacheRegionStats(region, statistics.getHitCount(), statistics.getMissCount(), statistics.getPutCount(),
+                size == CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN ? null : size);
+    }
+
+    private static CacheRegionStats queryStats(String query, QueryStatistics statistics) {
+        return new CacheRegionStats(query, statistics.getCacheHitCount(), statistics.getCacheMissCount(),
+                statistics.getCachePutCount(), null);
+    }
+}
@@ -0,0 +1,60 @@
+package com.afs.restapi.config;
+
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.util.function.Consumer;
+
+@Component
+public class QueryMetricsDataSourcePostProcessor implements BeanPostProcessor {
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+    private static final String GET_CONNECTION = "getConnection";
+    private static final String NEXT = "next";
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+            return bean;
+        }
+        return ProxyDataSourceBuilder.create((DataSource) bean)
+                .name(beanName)
+                .beforeQuery((executionInfo, queries) -> record(RequestMetrics::queryStarted))
+                .afterQuery((executionInfo, queries) -> record(RequestMetrics::queryFinished))
+                .beforeMethod(context -> {
+                    if (isGetConnection(context)) {
+                        record(RequestMetrics::connectionAcquireStarted);
+                    }
+                })
+                .afterMethod(context -> {
+                    if (isGetConnection(context)) {
+                        record(RequestMetrics::connectionAcquired);
+                    } else if (isRowFetched(context)) {
+                        record(RequestMetrics::rowFetched);
+                    }
+                })
+                .proxyResultSet()
+                .build();
+    }
+
+    private static void record(Consumer<RequestMetrics> recorder) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null) {
+            recorder.accept(metrics);
+        }
+    }
+
+    private static boolean isGetConnection(MethodExecutionContext context) {
+        return context.getTarget() instanceof DataSource && GET_CONNECTION.equals(context.getMethod().getName());
+    }
+
+    private static boolean isRowFetched(MethodExecutionContext context) {
+        return context.getTarget() instanceof ResultSet && NEXT.equals(context.getMethod().getName())
+                && Boolean.TRUE.equals(context.getResult());
+    }
+}
@@ -0,0 +1,74 @@
+package com.afs.restapi.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class ReplicaLagMonitor implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private ScheduledExecutorService executor;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, ReplicaRoutingProperties properties) {
+        this.routingDataSource = routingDataSource;
+        this.lagQuery = properties.getLagQuery();
+        this.maxLag = properties.getMaxLag();
+        this.checkInterval = properties.getCheckInterval();
+    }
+
+    public void checkReplicas() {
+        for (Map.Entry<String, DataSource> replica : routingDataSource.getReplicas().entrySet()) {
+            boolean healthy = isWithinMaxLag(replica.getKey(), new JdbcTemplate(replica.getValue()));
+            if (healthy != routingDataSource.isHealthy(replica.getKey())) {
+                LOGGER.warn("Replica {} is now {}", replica.getKey(), healthy ? "in rotation" : "out of rotation");
+            }
+            routingDataSource.setHealthy(replica.getKey(), healthy);
+        }
+    }
+
+    private boolean isWithinMaxLag(String replica, JdbcTemplate jdbcTemplate) {
+        try {
+            Double lagSeconds = jdbcTemplate.queryForObject(lagQuery, Double.class);
+            return lagSeconds != null && lagSeconds * 1000 <= maxLag.toMillis();
+        } catch (RuntimeException exception) {
+            LOGGER.debug("Lag check failed for replica {}", replica, exception);
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::checkReplicas, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return executor != null;
+    }
+}
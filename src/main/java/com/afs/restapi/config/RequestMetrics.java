@@ -0,0 +1,104 @@
+package com.afs.restapi.config;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+public class RequestMetrics {
+
+    public static final String ATTRIBUTE = RequestMetrics.class.getName();
+
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private int queryCount;
+    private long rowCount;
+    private long queryNanos;
+    private long queryStartNanos;
+    private long connectionAcquireNanos;
+    private long connectionAcquireStartNanos;
+    private long serializationStartNanos;
+    private long serializationNanos;
+    private long totalNanos;
+
+    public static RequestMetrics start() {
+        RequestMetrics metrics = new RequestMetrics();
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    public static RequestMetrics current() {
+        return CURRENT.get();
+    }
+
+    public void finish() {
+        CURRENT.remove();
+        long endNanos = System.nanoTime();
+        totalNanos = endNanos - startNanos;
+        if (serializationStartNanos != 0) {
+            serializationNanos = endNanos - serializationStartNanos;
+        }
+    }
+
+    public void queryStarted() {
+        queryStartNanos = System.nanoTime();
+    }
+
+    public void queryFinished() {
+        queryCount++;
+        queryNanos += System.nanoTime() - queryStartNanos;
+    }
+
+    public void rowFetched() {
+        rowCount++;
+    }
+
+    public void connectionAcquireStarted() {
+        connectionAcquireStartNanos = System.nanoTime();
+    }
+
+    public void connectionAcquired() {
+        connectionAcquireNanos += System.nanoTime() - connectionAcquireStartNanos;
+    }
+
+    public void serializationStarted() {
+        serializationStartNanos = System.nanoTime();
+    }
+
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public double getQueryMillis() {
+        return toMillis(queryNanos);
+    }
+
+    public double getConnectionAcquireMillis() {
+        return toMillis(connectionAcquireNanos);
+    }
+
+    public double getSerializationMillis() {
+        return toMillis(serializationNanos);
+    }
+
+    public double getTotalMillis() {
+        return toMillis(totalNanos);
+    }
+
+    // Server-Timing is sent with the first byte, so it covers only the work done before the response commits;
+    // the full-request totals are in the request attribute and the request log line.
+    public String toServerTiming() {
+        long nowNanos = System.nanoTime();
+        long elapsedSerializationNanos = serializationStartNanos != 0 ? nowNanos - serializationStartNanos : 0;
+        return String.format(Locale.ROOT, "db;dur=%.2f;desc=\"queries=%d rows=%d\", conn;dur=%.2f, ser;dur=%.2f, ttfb;dur=%.2f",
+                getQueryMillis(), queryCount, rowCount, getConnectionAcquireMillis(), toMillis(elapsedSerializationNanos),
+                toMillis(nowNanos - startNanos));
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
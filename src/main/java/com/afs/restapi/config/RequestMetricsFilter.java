@@ -0,0 +1,152 @@
+package com.afs.restapi.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+@Component
+@Profile("!reactive")
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestMetricsFilter.class);
+    private static final String SERVER_TIMING = "Server-Timing";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestMetrics metrics = RequestMetrics.start();
+        ServerTimingResponseWrapper responseWrapper = new ServerTimingResponseWrapper(response, metrics);
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        } finally {
+            responseWrapper.writeServerTiming();
+            metrics.finish();
+            request.setAttribute(RequestMetrics.ATTRIBUTE, metrics);
+            LOGGER.info("request method={} uri={} status={} queries={} rows={} db_ms={} connection_acquire_ms={} "
+                            + "serialization_ms={} total_ms={}",
+                    request.getMethod(), request.getRequestURI(), response.getStatus(), metrics.getQueryCount(),
+                    metrics.getRowCount(), format(metrics.getQueryMillis()), format(metrics.getConnectionAcquireMillis()),
+                    format(metrics.getSerializationMillis()), format(metrics.getTotalMillis()));
+        }
+    }
+
+    private static String format(double millis) {
+        return String.format(Locale.ROOT, "%.2f", millis);
+    }
+
+    private static final class ServerTimingResponseWrapper extends HttpServletResponseWrapper {
+
+        private final RequestMetrics metrics;
+        private boolean serverTimingWritten;
+        private ServletOutputStream outputStream;
+
+        private ServerTimingResponseWrapper(HttpServletResponse response, RequestMetrics metrics) {
+            super(response);
+            this.metrics = metrics;
+        }
+
+        private void writeServerTiming() {
+            if (serverTimingWritten) {
+                return;
+            }
+            serverTimingWritten = true;
+            if (!isCommitted()) {
+                setHeader(SERVER_TIMING, metrics.toServerTiming());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new ServerTimingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeServerTiming();
+            super.sendRedirect(location);
+        }
+
+        private final class ServerTimingOutputStream extends ServletOutputStream {
+
+            private final ServletOutputStream delegate;
+
+            private ServerTimingOutputStream(ServletOutputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                writeServerTiming();
+                delegate.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                writeServerTiming();
+                delegate.write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                writeServerTiming();
+                delegate.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                writeServerTiming();
+                delegate.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                delegate.setWriteListener(writeListener);
+            }
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package com.afs.restapi.controller;
 
+import com.afs.restapi.dto.CompanySummary;
+import com.afs.restapi.dto.CursorPage;
+import com.afs.restapi.dto.EmployeeStats;
+import com.afs.restapi.dto.VersionSummary;
 import com.afs.restapi.entity.Company;
 import com.afs.restapi.service.CompanyService;
 import com.afs.restapi.entity.Employee;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 @RequestMapping("companies")
 @RestController
+@Profile("!reactive")
 public class CompanyController {
 
     private final CompanyService companyService;
@@ -19,8 +28,12 @@ public class CompanyController {
     }
 
     @GetMapping
-    public List<Company> getAllCompanies() {
-        return companyService.findAll();
+    public ResponseEntity<List<Company>> getAllCompanies(WebRequest request) {
+        String eTag = ETags.weak(companyService.summarizeVersions().toArray(new VersionSummary[0]));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(companyService.findAll());
     }
 
     @GetMapping(params = {"pageNumber", "pageSize"})
@@ -28,15 +41,41 @@ public class CompanyController {
         return companyService.findByPage(pageNumber, pageSize);
     }
 
+    @GetMapping(params = "includeEmployees=false")
+    public List<CompanySummary> getCompanySummaries() {
+        return companyService.findAllSummaries();
+    }
+
+    @GetMapping(params = {"pageNumber", "pageSize", "includeEmployees=false"})
+    public List<CompanySummary> getCompanySummariesByPage(@RequestParam Integer pageNumber, @RequestParam Integer pageSize) {
+        return companyService.findSummariesByPage(pageNumber, pageSize);
+    }
+
+    @GetMapping(params = "limit")
+    public CursorPage<Company> getCompaniesByCursor(@RequestParam(required = false) String after, @RequestParam Integer limit) {
+        return companyService.findByCursor(after, limit);
+    }
+
     @GetMapping("/{id}")
-    public Company getCompanyById(@PathVariable Long id) {
-        return companyService.findById(id);
+    public ResponseEntity<Company> getCompanyById(@PathVariable Long id, WebRequest request) {
+        String eTag = ETags.strong(companyService.findVersionTag(id));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(companyService.findById(id));
     }
 
     @PutMapping("/{id}")
+    public ResponseEntity<Void> updateCompany(@PathVariable Long id, @RequestBody Company company,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        String versionTag = companyService.update(id, company, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.noContent().eTag(ETags.strong(versionTag)).build();
+    }
+
+    @PatchMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void updateCompany(@PathVariable Long id, @RequestBody Company company) {
-        companyService.update(id, company);
+    public void patchCompany(@PathVariable Long id, @RequestBody Company company) {
+        companyService.patch(id, company);
     }
 
     @DeleteMapping("/{id}")
@@ -51,6 +90,11 @@ public class CompanyController {
         return companyService.create(company);
     }
 
+    @GetMapping("/{id}/stats")
+    public EmployeeStats getCompanyStats(@PathVariable Long id) {
+        return companyService.findStats(id);
+    }
+
     @GetMapping("/{id}/employees")
     public List<Employee> getEmployeesByCompanyId(@PathVariable Long id) {
         return companyService.findEmployeesByCompanyId(id);
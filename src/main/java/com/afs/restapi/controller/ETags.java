@@ -0,0 +1,42 @@
+package com.afs.restapi.controller;
+
+import com.afs.restapi.dto.VersionSummary;
+import com.afs.restapi.exception.VersionMismatchException;
+
+final class ETags {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETags() {
+    }
+
+    static String strong(Object... parts) {
+        StringBuilder eTag = new StringBuilder("\"");
+        for (int index = 0; index < parts.length; index++) {
+            if (index > 0) {
+                eTag.append('-');
+            }
+            eTag.append(parts[index]);
+        }
+        return eTag.append('"').toString();
+    }
+
+    static String weak(VersionSummary... summaries) {
+        return WEAK_PREFIX + strong((Object[]) summaries);
+    }
+
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        if (eTag.startsWith(WEAK_PREFIX)) {
+            eTag = eTag.substring(WEAK_PREFIX.length());
+        }
+        try {
+            return Long.valueOf(eTag.replace("\"", "").split("-")[0]);
+        } catch (NumberFormatException exception) {
+            throw new VersionMismatchException();
+        }
+    }
+}
@@ -1,36 +1,75 @@
 package com.afs.restapi.controller;
 
+import com.afs.restapi.dto.CursorPage;
+import com.afs.restapi.dto.EmployeeBatchResult;
+import com.afs.restapi.dto.EmployeeSearchCriteria;
+import com.afs.restapi.dto.EmployeeStats;
 import com.afs.restapi.entity.Employee;
 import com.afs.restapi.service.EmployeeService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/employees")
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final ObjectMapper objectMapper;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, ObjectMapper objectMapper) {
         this.employeeService = employeeService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public List<Employee> getAllEmployees() {
-        return employeeService.findAll();
+    public ResponseEntity<List<Employee>> getAllEmployees(WebRequest request) {
+        String eTag = ETags.weak(employeeService.summarizeVersions());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(employeeService.findAll());
     }
 
     @GetMapping("/{id}")
-    public Employee getEmployeeById(@PathVariable Long id) {
-        return employeeService.findById(id);
+    public ResponseEntity<Employee> getEmployeeById(@PathVariable Long id, WebRequest request) {
+        if (employeeService.hasPendingUpdate(id)) {
+            return ResponseEntity.ok(employeeService.findById(id));
+        }
+        String eTag = ETags.strong(employeeService.findVersion(id));
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(employeeService.findById(id));
     }
 
     @PutMapping("/{id}")
+    public ResponseEntity<Void> updateEmployee(@PathVariable Long id, @RequestBody Employee employee,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (ifMatch == null && employeeService.bufferUpdate(id, employee)) {
+            return ResponseEntity.noContent().build();
+        }
+        Employee updatedEmployee = employeeService.update(id, employee, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.noContent().eTag(ETags.strong(updatedEmployee.getVersion())).build();
+    }
+
+    @PatchMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void updateEmployee(@PathVariable Long id, @RequestBody Employee employee) {
-        employeeService.update(id, employee);
+    public void patchEmployee(@PathVariable Long id, @RequestBody Employee employee) {
+        employeeService.patch(id, employee);
     }
 
     @DeleteMapping("/{id}")
@@ -39,6 +78,12 @@ public class EmployeeController {
         employeeService.delete(id);
     }
 
+    @DeleteMapping(params = "ids")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteEmployees(@RequestParam List<Long> ids) {
+        employeeService.deleteAll(ids);
+    }
+
     @GetMapping(params = "gender")
     public List<Employee> getEmployeesByGender(@RequestParam String gender) {
         return employeeService.findAllByGender(gender);
@@ -50,9 +95,79 @@ public class EmployeeController {
         return employeeService.create(employee);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public EmployeeBatchResult createEmployees(@RequestBody List<Employee> employees) {
+        return employeeService.createAll(employees);
+    }
+
+    @GetMapping("/stats")
+    public List<EmployeeStats> getEmployeeStats(@RequestParam String groupBy) {
+        return employeeService.findStats(groupBy);
+    }
+
     @GetMapping(params = {"pageNumber", "pageSize"})
     public List<Employee> findEmployeesByPage(@RequestParam Integer pageNumber, @RequestParam Integer pageSize) {
         return employeeService.findByPage(pageNumber, pageSize);
     }
 
+    @GetMapping(params = {"limit", "!nameContains", "!namePrefix"})
+    public CursorPage<Employee> findEmployeesByCursor(@RequestParam(required = false) String after, @RequestParam Integer limit) {
+        return employeeService.findByCursor(after, limit);
+    }
+
+    @GetMapping(params = "nameContains")
+    public List<Employee> findEmployeesByNameContaining(@RequestParam String nameContains,
+                                                        @RequestParam(defaultValue = "20") Integer limit) {
+        return employeeService.findByNameContaining(nameContains, limit);
+    }
+
+    @GetMapping(params = "namePrefix")
+    public List<Employee> findEmployeesByNamePrefix(@RequestParam String namePrefix,
+                                                    @RequestParam(defaultValue = "20") Integer limit) {
+        return employeeService.findByNamePrefix(namePrefix, limit);
+    }
+
+    @GetMapping("/search")
+    public CursorPage<Employee> searchEmployees(EmployeeSearchCriteria criteria) {
+        return employeeService.search(criteria);
+    }
+
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.APPLICATION_JSON_VALUE) String accept) {
+        boolean ndjson = MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(mediaType -> mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON));
+        StreamingResponseBody body = ndjson ? this::writeNdjson : this::writeJsonArray;
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private void writeNdjson(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            employeeService.exportAll(employee -> writeEmployee(generator, employee, true));
+        }
+    }
+
+    private void writeJsonArray(OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.writeStartArray();
+            employeeService.exportAll(employee -> writeEmployee(generator, employee, false));
+            generator.writeEndArray();
+        }
+    }
+
+    private static void writeEmployee(JsonGenerator generator, Employee employee, boolean newLine) {
+        try {
+            generator.writeObject(employee);
+            if (newLine) {
+                generator.writeRaw('\n');
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
 }
@@ -0,0 +1,84 @@
+package com.afs.restapi.controller;
+
+import com.afs.restapi.dto.CompanySummary;
+import com.afs.restapi.dto.CursorPage;
+import com.afs.restapi.entity.Company;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.service.ReactiveCompanyService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RequestMapping("companies")
+@RestController
+@Profile("reactive")
+public class ReactiveCompanyController {
+
+    private final ReactiveCompanyService companyService;
+
+    public ReactiveCompanyController(ReactiveCompanyService companyService) {
+        this.companyService = companyService;
+    }
+
+    @GetMapping
+    public Flux<Company> getAllCompanies() {
+        return companyService.findAll();
+    }
+
+    @GetMapping(params = {"pageNumber", "pageSize"})
+    public Flux<Company> getCompaniesByPage(@RequestParam Integer pageNumber, @RequestParam Integer pageSize) {
+        return companyService.findByPage(pageNumber, pageSize);
+    }
+
+    @GetMapping(params = "includeEmployees=false")
+    public Flux<CompanySummary> getCompanySummaries() {
+        return companyService.findAllSummaries();
+    }
+
+    @GetMapping(params = {"pageNumber", "pageSize", "includeEmployees=false"})
+    public Flux<CompanySummary> getCompanySummariesByPage(@RequestParam Integer pageNumber, @RequestParam Integer pageSize) {
+        return companyService.findSummariesByPage(pageNumber, pageSize);
+    }
+
+    @GetMapping(params = "limit")
+    public Mono<CursorPage<Company>> getCompaniesByCursor(@RequestParam(required = false) String after, @RequestParam Integer limit) {
+        return companyService.findByCursor(after, limit);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<Company> getCompanyById(@PathVariable Long id) {
+        return companyService.findById(id);
+    }
+
+    @PutMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> updateCompany(@PathVariable Long id, @RequestBody Company company) {
+        return companyService.update(id, company);
+    }
+
+    @PatchMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> patchCompany(@PathVariable Long id, @RequestBody Company company) {
+        return companyService.patch(id, company);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteCompany(@PathVariable Long id) {
+        return companyService.delete(id);
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Company> createCompany(@RequestBody Company company) {
+        return companyService.create(company);
+    }
+
+    @GetMapping("/{id}/employees")
+    public Flux<Employee> getEmployeesByCompanyId(@PathVariable Long id) {
+        return companyService.findEmployeesByCompanyId(id);
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.afs.restapi.controller;
+
+import com.afs.restapi.dto.CursorPage;
+import com.afs.restapi.dto.EmployeeBatchResult;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.service.ReactiveEmployeeService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/employees")
+public class ReactiveEmployeeController {
+
+    private final ReactiveEmployeeService employeeService;
+
+    public ReactiveEmployeeController(ReactiveEmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @GetMapping
+    public Flux<Employee> getAllEmployees() {
+        return employeeService.findAll();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<Employee> getEmployeeById(@PathVariable Long id) {
+        return employeeService.findById(id);
+    }
+
+    @PutMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> updateEmployee(@PathVariable Long id, @RequestBody Employee employee) {
+        return employeeService.update(id, employee);
+    }
+
+    @PatchMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> patchEmployee(@PathVariable Long id, @RequestBody Employee employee) {
+        return employeeService.patch(id, employee);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteEmployee(@PathVariable Long id) {
+        return employeeService.delete(id);
+    }
+
+    @DeleteMapping(params = "ids")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteEmployees(@RequestParam List<Long> ids) {
+        return employeeService.deleteAll(ids);
+    }
+
+    @GetMapping(params = "gender")
+    public Flux<Employee> getEmployeesByGender(@RequestParam String gender) {
+        return employeeService.findAllByGender(gender);
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Employee> createEmployee(@RequestBody Employee employee) {
+        return employeeService.create(employee);
+    }
+
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<EmployeeBatchResult> createEmployees(@RequestBody List<Employee> employees) {
+        return employeeService.createAll(employees);
+    }
+
+    @GetMapping(params = {"pageNumber", "pageSize"})
+    public Flux<Employee> findEmployeesByPage(@RequestParam Integer pageNumber, @RequestParam Integer pageSize) {
+        return employeeService.findByPage(pageNumber, pageSize);
+    }
+
+    @GetMapping(params = "limit")
+    public Mono<CursorPage<Employee>> findEmployeesByCursor(@RequestParam(required = false) String after, @RequestParam Integer limit) {
+        return employeeService.findByCursor(after, limit);
+    }
+
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Employee> exportEmployees() {
+        return employeeService.findAll();
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.afs.restapi.controller;
+
+import com.afs.restapi.dto.EmployeeReport;
+import com.afs.restapi.dto.EmployeeReportFilter;
+import com.afs.restapi.dto.EmployeeSalaryRow;
+import com.afs.restapi.dto.SnapshotStats;
+import com.afs.restapi.service.EmployeeSnapshot;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RequestMapping("reports")
+@RestController
+@Profile("!reactive")
+public class ReportController {
+
+    private final EmployeeSnapshot employeeSnapshot;
+
+    public ReportController(EmployeeSnapshot employeeSnapshot) {
+        this.employeeSnapshot = employeeSnapshot;
+    }
+
+    @GetMapping("/employees/summary")
+    public EmployeeReport summarizeEmployees(EmployeeReportFilter filter) {
+        return employeeSnapshot.summarize(filter);
+    }
+
+    @GetMapping("/employees/by-gender")
+    public List<EmployeeReport> summarizeEmployeesByGender(EmployeeReportFilter filter) {
+        return employeeSnapshot.summarizeByGender(filter);
+    }
+
+    @GetMapping("/employees/by-company")
+    public List<EmployeeReport> summarizeEmployeesByCompany(EmployeeReportFilter filter) {
+        return employeeSnapshot.summarizeByCompany(filter);
+    }
+
+    @GetMapping("/employees/top-salaries")
+    public List<EmployeeSalaryRow> getTopSalaries(EmployeeReportFilter filter, @RequestParam(defaultValue = "10") Integer limit) {
+        return employeeSnapshot.findTopSalaries(filter, limit);
+    }
+
+    @GetMapping("/snapshot")
+    public SnapshotStats getSnapshotStats() {
+        return employeeSnapshot.stats();
+    }
+}
@@ -0,0 +1,19 @@
+package com.afs.restapi.dto;
+
+public class BatchItemFailure {
+    private final int index;
+    private final String message;
+
+    public BatchItemFailure(int index, String message) {
+        this.index = index;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
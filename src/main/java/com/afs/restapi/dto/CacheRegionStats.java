@@ -0,0 +1,42 @@
+package com.afs.restapi.dto;
+
+public class CacheRegionStats {
+    private final String name;
+    private final long hitCount;
+    private final long missCount;
+    private final long putCount;
+    private final Long size;
+
+    public CacheRegionStats(String name, long hitCount, long missCount, long putCount, Long size) {
+        this.name = name;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.size = size;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getPutCount() {
+        return putCount;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public double getHitRatio() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0 : (double) hitCount / requests;
+    }
+}
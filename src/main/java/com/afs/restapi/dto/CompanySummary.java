@@ -0,0 +1,8 @@
+package com.afs.restapi.dto;
+
+public interface CompanySummary {
+
+    Long getId();
+
+    String getName();
+}
@@ -0,0 +1,24 @@
+package com.afs.restapi.dto;
+
+public class CompanyVersionTag {
+    private final long companyVersion;
+    private final VersionSummary employees;
+
+    public CompanyVersionTag(Long companyVersion, Long employeeCount, Long employeeVersionSum, Long maxEmployeeId) {
+        this.companyVersion = companyVersion;
+        this.employees = new VersionSummary(employeeCount, employeeVersionSum, maxEmployeeId);
+    }
+
+    public long getCompanyVersion() {
+        return companyVersion;
+    }
+
+    public VersionSummary getEmployees() {
+        return employees;
+    }
+
+    @Override
+    public String toString() {
+        return companyVersion + "-" + employees;
+    }
+}
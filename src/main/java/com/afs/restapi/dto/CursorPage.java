@@ -0,0 +1,86 @@
+package com.afs.restapi.dto;
+
+import com.afs.restapi.exception.InvalidCursorException;
+import org.springframework.data.domain.Slice;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class CursorPage<T> {
+    public static final int MAX_LIMIT = 1000;
+    private static final String KEY_SEPARATOR = ",";
+
+    private final List<T> content;
+    private final String nextCursor;
+
+    public CursorPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public static <T> CursorPage<T> of(Slice<T> slice, Function<T, Long> idExtractor) {
+        List<T> content = slice.getContent();
+        if (!slice.hasNext() || content.isEmpty()) {
+            return new CursorPage<>(content, null);
+        }
+        return new CursorPage<>(content, encode(idExtractor.apply(content.get(content.size() - 1))));
+    }
+
+    public static <T> CursorPage<T> ofKeys(Slice<T> slice, Function<T, List<Long>> keyExtractor) {
+        List<T> content = slice.getContent();
+        if (!slice.hasNext() || content.isEmpty()) {
+            return new CursorPage<>(content, null);
+        }
+        return new CursorPage<>(content, encodeKeys(keyExtractor.apply(content.get(content.size() - 1))));
+    }
+
+    public static String encodeKeys(List<Long> keys) {
+        String joined = keys.stream()
+                .map(key -> key == null ? "" : String.valueOf(key))
+                .collect(Collectors.joining(KEY_SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static List<Long> decodeKeys(String cursor, int keyCount) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String[] keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(KEY_SEPARATOR, -1);
+            if (keys.length != keyCount) {
+                throw new InvalidCursorException();
+            }
+            return Arrays.stream(keys).map(key -> key.isEmpty() ? null : Long.valueOf(key)).collect(Collectors.toList());
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public static String encode(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
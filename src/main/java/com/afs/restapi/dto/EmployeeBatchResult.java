@@ -0,0 +1,23 @@
+package com.afs.restapi.dto;
+
+import com.afs.restapi.entity.Employee;
+
+import java.util.List;
+
+public class EmployeeBatchResult {
+    private final List<Employee> created;
+    private final List<BatchItemFailure> failures;
+
+    public EmployeeBatchResult(List<Employee> created, List<BatchItemFailure> failures) {
+        this.created = created;
+        this.failures = failures;
+    }
+
+    public List<Employee> getCreated() {
+        return created;
+    }
+
+    public List<BatchItemFailure> getFailures() {
+        return failures;
+    }
+}
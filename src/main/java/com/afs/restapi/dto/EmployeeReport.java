@@ -0,0 +1,50 @@
+package com.afs.restapi.dto;
+
+public class EmployeeReport {
+    private final String group;
+    private final long count;
+    private final long salarySum;
+    private final Double salaryAvg;
+    private final Integer salaryMin;
+    private final Integer salaryMax;
+    private final Double ageAvg;
+
+    public EmployeeReport(String group, long count, long salarySum, Double salaryAvg, Integer salaryMin, Integer salaryMax,
+                          Double ageAvg) {
+        this.group = group;
+        this.count = count;
+        this.salarySum = salarySum;
+        this.salaryAvg = salaryAvg;
+        this.salaryMin = salaryMin;
+        this.salaryMax = salaryMax;
+        this.ageAvg = ageAvg;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSalarySum() {
+        return salarySum;
+    }
+
+    public Double getSalaryAvg() {
+        return salaryAvg;
+    }
+
+    public Integer getSalaryMin() {
+        return salaryMin;
+    }
+
+    public Integer getSalaryMax() {
+        return salaryMax;
+    }
+
+    public Double getAgeAvg() {
+        return ageAvg;
+    }
+}
@@ -0,0 +1,37 @@
+package com.afs.restapi.dto;
+
+public class EmployeeSalaryRow {
+    private final Long id;
+    private final Long companyId;
+    private final String gender;
+    private final Integer age;
+    private final Integer salary;
+
+    public EmployeeSalaryRow(Long id, Long companyId, String gender, Integer age, Integer salary) {
+        this.id = id;
+        this.companyId = companyId;
+        this.gender = gender;
+        this.age = age;
+        this.salary = salary;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getCompanyId() {
+        return companyId;
+    }
+
+    public String getGender() {
+        return gender;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public Integer getSalary() {
+        return salary;
+    }
+}
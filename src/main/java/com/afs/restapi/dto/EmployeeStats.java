@@ -0,0 +1,44 @@
+package com.afs.restapi.dto;
+
+public class EmployeeStats {
+    private final String group;
+    private final long count;
+    private final ValueStats salary;
+    private final ValueStats age;
+
+    public EmployeeStats(String group, long count, ValueStats salary, ValueStats age) {
+        this.group = group;
+        this.count = count;
+        this.salary = salary;
+        this.age = age;
+    }
+
+    public static EmployeeStats from(EmployeeStatsRow row) {
+        return new EmployeeStats(row.getGroupKey(), row.getCount(),
+                new ValueStats(row.getSalarySum(), row.getSalaryAvg(), row.getSalaryMin(), row.getSalaryMax(),
+                        row.getSalaryP50(), row.getSalaryP90(), row.getSalaryP99()),
+                new ValueStats(row.getAgeSum(), row.getAgeAvg(), row.getAgeMin(), row.getAgeMax(),
+                        row.getAgeP50(), row.getAgeP90(), row.getAgeP99()));
+    }
+
+    public static EmployeeStats empty(String group) {
+        ValueStats none = new ValueStats(null, null, null, null, null, null, null);
+        return new EmployeeStats(group, 0, none, none);
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public ValueStats getSalary() {
+        return salary;
+    }
+
+    public ValueStats getAge() {
+        return age;
+    }
+}
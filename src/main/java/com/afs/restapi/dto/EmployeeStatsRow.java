@@ -0,0 +1,36 @@
+package com.afs.restapi.dto;
+
+public interface EmployeeStatsRow {
+
+    String getGroupKey();
+
+    Long getCount();
+
+    Long getSalarySum();
+
+    Double getSalaryAvg();
+
+    Integer getSalaryMin();
+
+    Integer getSalaryMax();
+
+    Integer getSalaryP50();
+
+    Integer getSalaryP90();
+
+    Integer getSalaryP99();
+
+    Long getAgeSum();
+
+    Double getAgeAvg();
+
+    Integer getAgeMin();
+
+    Integer getAgeMax();
+
+    Integer getAgeP50();
+
+    Integer getAgeP90();
+
+    Integer getAgeP99();
+}
@@ -0,0 +1,29 @@
+package com.afs.restapi.dto;
+
+public class SnapshotStats {
+    private final int rows;
+    private final int deletedRows;
+    private final long bytes;
+
+    public SnapshotStats(int rows, int deletedRows, long bytes) {
+        this.rows = rows;
+        this.deletedRows = deletedRows;
+        this.bytes = bytes;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getDeletedRows() {
+        return deletedRows;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public double getBytesPerRow() {
+        return rows == 0 ? 0 : (double) bytes / rows;
+    }
+}
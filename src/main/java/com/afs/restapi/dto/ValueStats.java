@@ -0,0 +1,49 @@
+package com.afs.restapi.dto;
+
+public class ValueStats {
+    private final Long sum;
+    private final Double avg;
+    private final Integer min;
+    private final Integer max;
+    private final Integer p50;
+    private final Integer p90;
+    private final Integer p99;
+
+    public ValueStats(Long sum, Double avg, Integer min, Integer max, Integer p50, Integer p90, Integer p99) {
+        this.sum = sum;
+        this.avg = avg;
+        this.min = min;
+        this.max = max;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+    }
+
+    public Long getSum() {
+        return sum;
+    }
+
+    public Double getAvg() {
+        return avg;
+    }
+
+    public Integer getMin() {
+        return min;
+    }
+
+    public Integer getMax() {
+        return max;
+    }
+
+    public Integer getP50() {
+        return p50;
+    }
+
+    public Integer getP90() {
+        return p90;
+    }
+
+    public Integer getP99() {
+        return p99;
+    }
+}
@@ -0,0 +1,30 @@
+package com.afs.restapi.dto;
+
+public class VersionSummary {
+    private final long count;
+    private final long versionSum;
+    private final long maxId;
+
+    public VersionSummary(Long count, Long versionSum, Long maxId) {
+        this.count = count;
+        this.versionSum = versionSum;
+        this.maxId = maxId;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getVersionSum() {
+        return versionSum;
+    }
+
+    public long getMaxId() {
+        return maxId;
+    }
+
+    @Override
+    public String toString() {
+        return count + "-" + versionSum + "-" + maxId;
+    }
+}
@@ -1,9 +1,15 @@
 package com.afs.restapi.entity;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Company {
 
     @Id
@@ -12,8 +18,13 @@ public class Company {
 
     private String name;
 
+    @Version
+    private long version;
+
     @OneToMany(orphanRemoval = true)
     @JoinColumn(name = "companyId")
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Employee> employees;
 
     public Company() {
@@ -47,4 +58,12 @@ public class Company {
     public void setEmployees(List<Employee> employees) {
         this.employees = employees;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -1,11 +1,18 @@
 package com.afs.restapi.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Version;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Employee {
 
     @Id
@@ -16,6 +23,8 @@ public class Employee {
     private String gender;
     private Integer salary;
     private Long companyId;
+    @Version
+    private long version;
     public static final int MIN_VALID_AGE = 18;
     public static final int MAX_VALID_AGE = 65;
 
@@ -81,4 +90,12 @@ public class Employee {
     public boolean hasInvalidAge() {
         return getAge() < MIN_VALID_AGE || getAge() > MAX_VALID_AGE;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
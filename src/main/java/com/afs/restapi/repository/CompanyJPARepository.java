@@ -1,9 +1,52 @@
 package com.afs.restapi.repository;
 
+import com.afs.restapi.dto.CompanySummary;
+import com.afs.restapi.dto.CompanyVersionTag;
+import com.afs.restapi.dto.VersionSummary;
 import com.afs.restapi.entity.Company;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH;
+
 @Repository
 public interface CompanyJPARepository extends JpaRepository<Company, Long> {
+
+    @Override
+    @Query("select distinct c from Company c left join fetch c.employees")
+    @QueryHints(@QueryHint(name = HINT_PASS_DISTINCT_THROUGH, value = "false"))
+    List<Company> findAll();
+
+    Slice<Company> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<CompanySummary> findAllProjectedBy();
+
+    List<CompanySummary> findAllProjectedBy(Pageable pageable);
+
+    @Query("select new com.afs.restapi.dto.CompanyVersionTag(c.version, count(e), coalesce(sum(e.version), 0L), "
+            + "coalesce(max(e.id), 0L)) from Company c left join Employee e on e.companyId = c.id "
+            + "where c.id = :id group by c.id, c.version")
+    Optional<CompanyVersionTag> findVersionTagById(@Param("id") Long id);
+
+    @Query("select new com.afs.restapi.dto.VersionSummary(count(c), coalesce(sum(c.version), 0L), coalesce(max(c.id), 0L)) "
+            + "from Company c")
+    VersionSummary summarizeVersions();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Company c set c.name = :name, c.version = c.version + 1 where c.id = :id")
+    int updateNameById(@Param("id") Long id, @Param("name") String name);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Company c where c.id = :id")
+    int deleteByIdInBatch(@Param("id") Long id);
 }
@@ -0,0 +1,112 @@
+package com.afs.restapi.repository;
+
+import com.afs.restapi.dto.CompanySummary;
+import com.afs.restapi.entity.Company;
+import io.r2dbc.spi.Row;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@Profile("reactive")
+public class CompanyR2dbcRepository {
+
+    private static final String SELECT_COMPANY = "select id, name, version from company";
+
+    private final DatabaseClient databaseClient;
+
+    public CompanyR2dbcRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<Company> findAll() {
+        return databaseClient.sql(SELECT_COMPANY + " order by id")
+                .map((row, metadata) -> toCompany(row))
+                .all();
+    }
+
+    public Mono<Company> findById(Long id) {
+        return databaseClient.sql(SELECT_COMPANY + " where id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> toCompany(row))
+                .one();
+    }
+
+    public Flux<Company> findPage(int offset, int limit) {
+        return databaseClient.sql(SELECT_COMPANY + " order by id limit :limit offset :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map((row, metadata) -> toCompany(row))
+                .all();
+    }
+
+    public Flux<Company> findAfter(Long id, int limit) {
+        return databaseClient.sql(SELECT_COMPANY + " where id > :id order by id limit :limit")
+                .bind("id", id)
+                .bind("limit", limit)
+                .map((row, metadata) -> toCompany(row))
+                .all();
+    }
+
+    public Flux<CompanySummary> findAllSummaries() {
+        return findAll().map(CompanySummaryRow::new);
+    }
+
+    public Flux<CompanySummary> findSummaryPage(int offset, int limit) {
+        return findPage(offset, limit).map(CompanySummaryRow::new);
+    }
+
+    public Mono<Company> insert(Company company) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("insert into company (name) values (:name)");
+        spec = company.getName() == null ? spec.bindNull("name", String.class) : spec.bind("name", company.getName());
+        return spec.filter(statement -> statement.returnGeneratedValues("id"))
+                .map((row, metadata) -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    company.setId(id);
+                    return company;
+                });
+    }
+
+    public Mono<Integer> updateName(Long id, String name) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("update company set name = :name, version = version + 1 where id = :id")
+                .bind("id", id);
+        spec = name == null ? spec.bindNull("name", String.class) : spec.bind("name", name);
+        return spec.fetch().rowsUpdated();
+    }
+
+    public Mono<Integer> deleteById(Long id) {
+        return databaseClient.sql("delete from company where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static Company toCompany(Row row) {
+        Company company = new Company(row.get("id", Long.class), row.get("name", String.class));
+        company.setVersion(row.get("version", Long.class));
+        return company;
+    }
+
+    private static class CompanySummaryRow implements CompanySummary {
+        private final Long id;
+        private final String name;
+
+        private CompanySummaryRow(Company company) {
+            this.id = company.getId();
+            this.name = company.getName();
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+}
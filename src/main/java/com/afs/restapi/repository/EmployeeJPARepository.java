@@ -1,15 +1,75 @@
 package com.afs.restapi.repository;
 
+import com.afs.restapi.dto.EmployeeStatsRow;
+import com.afs.restapi.dto.VersionSummary;
 import com.afs.restapi.entity.Employee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 @Repository
-public interface EmployeeJPARepository extends JpaRepository<Employee, Long> {
+public interface EmployeeJPARepository extends JpaRepository<Employee, Long>, EmployeeJPARepositoryCustom {
+
+    String STATS_PREFIX = "select group_key as \"groupKey\", count(*) as \"count\", "
+            + "sum(salary) as \"salarySum\", avg(salary * 1.0) as \"salaryAvg\", min(salary) as \"salaryMin\", max(salary) as \"salaryMax\", "
+            + "min(case when salary_rank = ceil(0.50 * salary_count) then salary end) as \"salaryP50\", "
+            + "min(case when salary_rank = ceil(0.90 * salary_count) then salary end) as \"salaryP90\", "
+            + "min(case when salary_rank = ceil(0.99 * salary_count) then salary end) as \"salaryP99\", "
+            + "sum(age) as \"ageSum\", avg(age * 1.0) as \"ageAvg\", min(age) as \"ageMin\", max(age) as \"ageMax\", "
+            + "min(case when age_rank = ceil(0.50 * age_count) then age end) as \"ageP50\", "
+            + "min(case when age_rank = ceil(0.90 * age_count) then age end) as \"ageP90\", "
+            + "min(case when age_rank = ceil(0.99 * age_count) then age end) as \"ageP99\" "
+            + "from (select group_key, salary, age, "
+            + "row_number() over (partition by group_key order by case when salary is null then 1 else 0 end, salary) as salary_rank, "
+            + "count(salary) over (partition by group_key) as salary_count, "
+            + "row_number() over (partition by group_key order by case when age is null then 1 else 0 end, age) as age_rank, "
+            + "count(age) over (partition by group_key) as age_count "
+            + "from (";
+
+    String STATS_SUFFIX = ") grouped) ranked group by group_key order by group_key";
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Employee> findAllByGender(String gender);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Employee> findByCompanyId(Long id);
+
+    Slice<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<Employee> findByNameContainingIgnoreCaseOrderByIdAsc(String name, Pageable pageable);
+
+    List<Employee> findByNameStartingWithIgnoreCaseOrderByNameAscIdAsc(String prefix, Pageable pageable);
+
+    @Query("select e.version from Employee e where e.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select new com.afs.restapi.dto.VersionSummary(count(e), coalesce(sum(e.version), 0L), coalesce(max(e.id), 0L)) "
+            + "from Employee e")
+    VersionSummary summarizeVersions();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Employee e where e.companyId = :companyId")
+    int deleteAllByCompanyIdInBatch(@Param("companyId") Long companyId);
+
+    @Query(value = STATS_PREFIX + "select gender as group_key, salary, age from employee" + STATS_SUFFIX, nativeQuery = true)
+    List<EmployeeStatsRow> findStatsGroupByGender();
+
+    @Query(value = STATS_PREFIX + "select company_id as group_key, salary, age from employee where company_id is not null"
+            + STATS_SUFFIX, nativeQuery = true)
+    List<EmployeeStatsRow> findStatsGroupByCompanyId();
+
+    @Query(value = STATS_PREFIX + "select company_id as group_key, salary, age from employee where company_id = :companyId"
+            + STATS_SUFFIX, nativeQuery = true)
+    Optional<EmployeeStatsRow> findStatsByCompanyId(@Param("companyId") Long companyId);
 }
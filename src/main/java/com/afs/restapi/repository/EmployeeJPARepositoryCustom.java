@@ -0,0 +1,27 @@
+package com.afs.restapi.repository;
+
+import com.afs.restapi.entity.Employee;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public interface EmployeeJPARepositoryCustom {
+
+    void forEachEmployee(int fetchSize, Consumer<Employee> consumer);
+
+    List<Employee> insertAll(List<Employee> employees);
+
+    int updateChangedFields(Long id, Employee changes);
+
+    List<Long> updateAgeAndSalaryInBatch(Map<Long, Employee> changes);
+
+    Slice<Employee> findSlice(Specification<Employee> specification, Sort sort, int limit);
+
+    void evictCompanyEmployees(Long companyId);
+
+    void evictAllCompanyEmployees();
+}
@@ -0,0 +1,223 @@
+package com.afs.restapi.repository;
+
+import com.afs.restapi.entity.Employee;
+import org.hibernate.Cache;
+import org.hibernate.CacheMode;
+import org.hibernate.action.internal.BulkOperationCleanupAction;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public class EmployeeJPARepositoryCustomImpl implements EmployeeJPARepositoryCustom {
+
+    private static final String EMPLOYEE_TABLE = "employee";
+    private static final String COMPANY_EMPLOYEES_ROLE = "com.afs.restapi.entity.Company.employees";
+    private static final String INSERT_SQL = "insert into employee (name, age, gender, salary, company_id) values (?, ?, ?, ?, ?)";
+    private static final String UPDATE_AGE_AND_SALARY_SQL = "update employee set age = coalesce(?, age), salary = coalesce(?, salary), "
+            + "version = version + 1 where id = ?";
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final int insertBatchSize;
+
+    public EmployeeJPARepositoryCustomImpl(EntityManager entityManager, JdbcTemplate jdbcTemplate,
+                                           @Value("${employee.batch-insert-size:500}") int insertBatchSize) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.insertBatchSize = insertBatchSize;
+    }
+
+    @Override
+    public void forEachEmployee(int fetchSize, Consumer<Employee> consumer) {
+        try (Stream<Employee> employees = entityManager.createQuery("select e from Employee e order by e.id", Employee.class)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .setHint(QueryHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                .getResultStream()) {
+            employees.forEach(employee -> {
+                consumer.accept(employee);
+                entityManager.detach(employee);
+            });
+        }
+    }
+
+    @Override
+    @Transactional
+    public List<Employee> insertAll(List<Employee> employees) {
+        if (employees.isEmpty()) {
+            return employees;
+        }
+        invalidateEmployeeTable();
+        return jdbcTemplate.execute((ConnectionCallback<List<Employee>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                int batchStart = 0;
+                for (int index = 0; index < employees.size(); index++) {
+                    bindEmployee(statement, employees.get(index));
+                    statement.addBatch();
+                    if (index - batchStart + 1 == insertBatchSize || index == employees.size() - 1) {
+                        statement.executeBatch();
+                        assignGeneratedIds(statement, employees, batchStart);
+                        batchStart = index + 1;
+                    }
+                }
+            }
+            return employees;
+        });
+    }
+
+    @Override
+    public int updateChangedFields(Long id, Employee changes) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Employee> update = criteriaBuilder.createCriteriaUpdate(Employee.class);
+        Root<Employee> employee = update.from(Employee.class);
+        boolean changed = false;
+        if (changes.getName() != null) {
+            update.set(employee.<String>get("name"), changes.getName());
+            changed = true;
+        }
+        if (changes.getAge() != null) {
+            update.set(employee.<Integer>get("age"), changes.getAge());
+            changed = true;
+        }
+        if (changes.getSalary() != null) {
+            update.set(employee.<Integer>get("salary"), changes.getSalary());
+            changed = true;
+        }
+        if (!changed) {
+            return entityManager.createQuery("select count(e) from Employee e where e.id = :id", Long.class)
+                    .setParameter("id", id)
+                    .getSingleResult()
+                    .intValue();
+        }
+        update.set(employee.<Long>get("version"), criteriaBuilder.sum(employee.<Long>get("version"), 1L));
+        update.where(criteriaBuilder.equal(employee.get("id"), id));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    @Transactional
+    public List<Long> updateAgeAndSalaryInBatch(Map<Long, Employee> changes) {
+        if (changes.isEmpty()) {
+            return List.of();
+        }
+        invalidateEmployeeTable();
+        List<Long> ids = new ArrayList<>(changes.keySet());
+        List<Object[]> arguments = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Employee employee = changes.get(id);
+            arguments.add(new Object[]{employee.getAge(), employee.getSalary(), id});
+        }
+        int[] updateCounts = jdbcTemplate.batchUpdate(UPDATE_AGE_AND_SALARY_SQL, arguments,
+                new int[]{Types.INTEGER, Types.INTEGER, Types.BIGINT});
+        List<Long> updatedIds = new ArrayList<>(ids.size());
+        for (int index = 0; index < ids.size(); index++) {
+            if (updateCounts[index] != 0) {
+                updatedIds.add(ids.get(index));
+            }
+        }
+        return updatedIds;
+    }
+
+    @Override
+    public Slice<Employee> findSlice(Specification<Employee> specification, Sort sort, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Employee> query = criteriaBuilder.createQuery(Employee.class);
+        Root<Employee> employee = query.from(Employee.class);
+        Predicate predicate = specification.toPredicate(employee, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(toOrders(sort, employee, criteriaBuilder));
+        List<Employee> content = new ArrayList<>(entityManager.createQuery(query)
+                .setMaxResults(limit + 1)
+                .getResultList());
+        boolean hasNext = content.size() > limit;
+        if (hasNext) {
+            content.remove(limit);
+        }
+        return new SliceImpl<>(content, PageRequest.of(0, limit, sort), hasNext);
+    }
+
+    @Override
+    public void evictCompanyEmployees(Long companyId) {
+        if (companyId != null) {
+            secondLevelCache().evictCollectionData(COMPANY_EMPLOYEES_ROLE, companyId);
+        }
+    }
+
+    @Override
+    public void evictAllCompanyEmployees() {
+        secondLevelCache().evictCollectionData(COMPANY_EMPLOYEES_ROLE);
+    }
+
+    private void invalidateEmployeeTable() {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        session.getActionQueue().addAction(new BulkOperationCleanupAction(session, Set.of(EMPLOYEE_TABLE)));
+    }
+
+    private Cache secondLevelCache() {
+        return entityManager.getEntityManagerFactory().getCache().unwrap(Cache.class);
+    }
+
+    private static List<Order> toOrders(Sort sort, Root<Employee> employee, CriteriaBuilder criteriaBuilder) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Path<Object> path = employee.get(order.getProperty());
+            if (order.getNullHandling() != Sort.NullHandling.NATIVE) {
+                Expression<Integer> isNull = criteriaBuilder.<Integer>selectCase()
+                        .when(criteriaBuilder.isNull(path), 1)
+                        .otherwise(0);
+                orders.add(order.getNullHandling() == Sort.NullHandling.NULLS_LAST
+                        ? criteriaBuilder.asc(isNull) : criteriaBuilder.desc(isNull));
+            }
+            orders.add(order.isAscending() ? criteriaBuilder.asc(path) : criteriaBuilder.desc(path));
+        }
+        return orders;
+    }
+
+    private static void bindEmployee(PreparedStatement statement, Employee employee) throws SQLException {
+        statement.setString(1, employee.getName());
+        statement.setObject(2, employee.getAge(), Types.INTEGER);
+        statement.setString(3, employee.getGender());
+        statement.setObject(4, employee.getSalary(), Types.INTEGER);
+        statement.setObject(5, employee.getCompanyId(), Types.BIGINT);
+    }
+
+    private static void assignGeneratedIds(PreparedStatement statement, List<Employee> employees, int batchStart) throws SQLException {
+        try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+            int index = batchStart;
+            while (generatedKeys.next()) {
+                employees.get(index++).setId(generatedKeys.getLong(1));
+            }
+        }
+    }
+}
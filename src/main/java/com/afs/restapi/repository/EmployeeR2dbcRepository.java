@@ -0,0 +1,146 @@
+package com.afs.restapi.repository;
+
+import com.afs.restapi.entity.Employee;
+import io.r2dbc.spi.Row;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+@Repository
+@Profile("reactive")
+public class EmployeeR2dbcRepository {
+
+    private static final String SELECT_EMPLOYEE = "select id, name, age, gender, salary, company_id, version from employee";
+
+    private final DatabaseClient databaseClient;
+
+    public EmployeeR2dbcRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<Employee> findAll() {
+        return databaseClient.sql(SELECT_EMPLOYEE + " order by id")
+                .map((row, metadata) -> toEmployee(row))
+                .all();
+    }
+
+    public Mono<Employee> findById(Long id) {
+        return databaseClient.sql(SELECT_EMPLOYEE + " where id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> toEmployee(row))
+                .one();
+    }
+
+    public Flux<Employee> findAllByGender(String gender) {
+        return databaseClient.sql(SELECT_EMPLOYEE + " where gender = :gender order by id")
+                .bind("gender", gender)
+                .map((row, metadata) -> toEmployee(row))
+                .all();
+    }
+
+    public Flux<Employee> findByCompanyId(Long companyId) {
+        return databaseClient.sql(SELECT_EMPLOYEE + " where company_id = :companyId order by id")
+                .bind("companyId", companyId)
+                .map((row, metadata) -> toEmployee(row))
+                .all();
+    }
+
+    public Flux<Employee> findByCompanyIds(Collection<Long> companyIds) {
+        return databaseClient.sql(SELECT_EMPLOYEE + " where company_id in (:companyIds) order by id")
+                .bind("companyIds", companyIds)
+                .map((row, metadata) -> toEmployee(row))
+                .all();
+    }
+
+    public Flux<Employee> findPage(int offset, int limit) {
+        return databaseClient.sql(SELECT_EMPLOYEE + " order by id limit :limit offset :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map((row, metadata) -> toEmployee(row))
+                .all();
+    }
+
+    public Flux<Employee> findAfter(Long id, int limit) {
+        return databaseClient.sql(SELECT_EMPLOYEE + " where id > :id order by id limit :limit")
+                .bind("id", id)
+                .bind("limit", limit)
+                .map((row, metadata) -> toEmployee(row))
+                .all();
+    }
+
+    public Mono<Employee> insert(Employee employee) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient
+                .sql("insert into employee (name, age, gender, salary, company_id) values (:name, :age, :gender, :salary, :companyId)");
+        spec = bindNullable(spec, "name", employee.getName(), String.class);
+        spec = bindNullable(spec, "age", employee.getAge(), Integer.class);
+        spec = bindNullable(spec, "gender", employee.getGender(), String.class);
+        spec = bindNullable(spec, "salary", employee.getSalary(), Integer.class);
+        spec = bindNullable(spec, "companyId", employee.getCompanyId(), Long.class);
+        return spec.filter(statement -> statement.returnGeneratedValues("id"))
+                .map((row, metadata) -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    employee.setId(id);
+                    return employee;
+                });
+    }
+
+    public Mono<Integer> updateAgeAndSalary(Long id, Integer age, Integer salary) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient
+                .sql("update employee set age = coalesce(:age, age), salary = coalesce(:salary, salary), "
+                        + "version = version + 1 where id = :id")
+                .bind("id", id);
+        spec = bindNullable(spec, "age", age, Integer.class);
+        spec = bindNullable(spec, "salary", salary, Integer.class);
+        return spec.fetch().rowsUpdated();
+    }
+
+    public Mono<Integer> updateChangedFields(Long id, Employee changes) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient
+                .sql("update employee set name = coalesce(:name, name), age = coalesce(:age, age), "
+                        + "salary = coalesce(:salary, salary), version = version + 1 where id = :id")
+                .bind("id", id);
+        spec = bindNullable(spec, "name", changes.getName(), String.class);
+        spec = bindNullable(spec, "age", changes.getAge(), Integer.class);
+        spec = bindNullable(spec, "salary", changes.getSalary(), Integer.class);
+        return spec.fetch().rowsUpdated();
+    }
+
+    public Mono<Integer> deleteById(Long id) {
+        return databaseClient.sql("delete from employee where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Integer> deleteByIds(Collection<Long> ids) {
+        return databaseClient.sql("delete from employee where id in (:ids)")
+                .bind("ids", ids)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Integer> deleteByCompanyId(Long companyId) {
+        return databaseClient.sql("delete from employee where company_id = :companyId")
+                .bind("companyId", companyId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name,
+                                                                  Object value, Class<?> type) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+
+    private static Employee toEmployee(Row row) {
+        Employee employee = new Employee(row.get("id", Long.class), row.get("name", String.class),
+                row.get("age", Integer.class), row.get("gender", String.class), row.get("salary", Integer.class));
+        employee.setCompanyId(row.get("company_id", Long.class));
+        employee.setVersion(row.get("version", Long.class));
+        return employee;
+    }
+}
@@ -0,0 +1,75 @@
+package com.afs.restapi.repository;
+
+import com.afs.restapi.entity.Employee;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> hasGender(String gender) {
+        return gender == null ? null : (root, query, builder) -> builder.equal(root.get("gender"), gender);
+    }
+
+    public static Specification<Employee> hasCompanyId(Long companyId) {
+        return companyId == null ? null : (root, query, builder) -> builder.equal(root.get("companyId"), companyId);
+    }
+
+    public static Specification<Employee> ageBetween(Integer min, Integer max) {
+        return between("age", min, max);
+    }
+
+    public static Specification<Employee> salaryBetween(Integer min, Integer max) {
+        return between("salary", min, max);
+    }
+
+    public static Specification<Employee> after(List<Sort.Order> orders, List<Long> keys) {
+        if (keys == null) {
+            return null;
+        }
+        return (root, query, builder) -> {
+            List<Predicate> alternatives = new ArrayList<>();
+            List<Predicate> equalities = new ArrayList<>();
+            for (int index = 0; index < orders.size(); index++) {
+                Sort.Order order = orders.get(index);
+                Path<Number> path = root.get(order.getProperty());
+                Long rawKey = keys.get(index);
+                if (rawKey == null) {
+                    equalities.add(builder.isNull(path));
+                    continue;
+                }
+                Number key = Integer.class.equals(path.getJavaType()) ? Integer.valueOf(rawKey.intValue()) : rawKey;
+                Predicate following = order.isAscending() ? builder.gt(path, key) : builder.lt(path, key);
+                List<Predicate> alternative = new ArrayList<>(equalities);
+                alternative.add(order.getNullHandling() == Sort.NullHandling.NULLS_LAST
+                        ? builder.or(following, builder.isNull(path)) : following);
+                alternatives.add(builder.and(alternative.toArray(new Predicate[0])));
+                equalities.add(builder.equal(path, key));
+            }
+            return builder.or(alternatives.toArray(new Predicate[0]));
+        };
+    }
+
+    private static Specification<Employee> between(String attribute, Integer min, Integer max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (root, query, builder) -> {
+            Path<Integer> path = root.get(attribute);
+            if (min == null) {
+                return builder.le(path, max);
+            }
+            if (max == null) {
+                return builder.ge(path, min);
+            }
+            return builder.between(path, min, max);
+        };
+    }
+}
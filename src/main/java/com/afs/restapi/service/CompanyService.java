@@ -1,53 +1,146 @@
 package com.afs.restapi.service;
 
+import com.afs.restapi.config.CacheConfig;
+import com.afs.restapi.dto.CompanySummary;
+import com.afs.restapi.dto.CompanyVersionTag;
+import com.afs.restapi.dto.CursorPage;
+import com.afs.restapi.dto.EmployeeStats;
+import com.afs.restapi.dto.VersionSummary;
 import com.afs.restapi.entity.Company;
 import com.afs.restapi.entity.Employee;
 import com.afs.restapi.exception.CompanyNotFoundException;
+import com.afs.restapi.exception.VersionMismatchException;
 import com.afs.restapi.repository.CompanyJPARepository;
 import com.afs.restapi.repository.EmployeeJPARepository;
+import org.hibernate.Hibernate;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
+@Profile("!reactive")
 public class CompanyService {
 
     private final CompanyJPARepository companyJPARepository;
     private final EmployeeJPARepository employeeJPARepository;
+    private final EmployeeChangePublisher employeeChangePublisher;
 
-    public CompanyService(CompanyJPARepository companyJPARepository, EmployeeJPARepository employeeJPARepository) {
+    public CompanyService(CompanyJPARepository companyJPARepository, EmployeeJPARepository employeeJPARepository,
+                          EmployeeChangePublisher employeeChangePublisher) {
         this.companyJPARepository = companyJPARepository;
         this.employeeJPARepository = employeeJPARepository;
+        this.employeeChangePublisher = employeeChangePublisher;
     }
 
+    @Transactional(readOnly = true)
     public List<Company> findAll() {
         return companyJPARepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public List<Company> findByPage(Integer pageNumber, Integer pageSize) {
         return companyJPARepository.findAll(PageRequest.of(pageNumber - 1, pageSize)).toList();
     }
 
+    @Transactional(readOnly = true)
+    public List<CompanySummary> findAllSummaries() {
+        return companyJPARepository.findAllProjectedBy();
+    }
+
+    @Transactional(readOnly = true)
+    public List<CompanySummary> findSummariesByPage(Integer pageNumber, Integer pageSize) {
+        return companyJPARepository.findAllProjectedBy(PageRequest.of(pageNumber - 1, pageSize));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Company> findByCursor(String after, Integer limit) {
+        int pageSize = Math.min(Math.max(limit, 1), CursorPage.MAX_LIMIT);
+        return CursorPage.of(companyJPARepository.findByIdGreaterThanOrderByIdAsc(CursorPage.decode(after),
+                PageRequest.of(0, pageSize)), Company::getId);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.COMPANIES, key = "#id")
+    @Transactional(readOnly = true)
     public Company findById(Long id) {
-        return companyJPARepository.findById(id).orElseThrow(CompanyNotFoundException::new);
+        Company company = getCompany(id);
+        Hibernate.initialize(company.getEmployees());
+        return company;
     }
 
-    public void update(Long id, Company company) {
-        Company toBeUpdatedCompany = findById(id);
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.COMPANIES, key = "#id")
+    public String update(Long id, Company company, Long expectedVersion) {
+        Company toBeUpdatedCompany = getCompany(id);
+        if (expectedVersion != null && toBeUpdatedCompany.getVersion() != expectedVersion) {
+            throw new VersionMismatchException();
+        }
         toBeUpdatedCompany.setName(company.getName());
-        companyJPARepository.save(toBeUpdatedCompany);
+        companyJPARepository.saveAndFlush(toBeUpdatedCompany);
+        return findVersionTag(id);
+    }
+
+    @Transactional(readOnly = true)
+    public String findVersionTag(Long id) {
+        return companyJPARepository.findVersionTagById(id)
+                .map(CompanyVersionTag::toString)
+                .orElseThrow(CompanyNotFoundException::new);
+    }
+
+    @Transactional(readOnly = true)
+    public List<VersionSummary> summarizeVersions() {
+        return List.of(companyJPARepository.summarizeVersions(), employeeJPARepository.summarizeVersions());
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.COMPANIES, key = "#id")
+    public void patch(Long id, Company company) {
+        boolean found = company.getName() == null
+                ? companyJPARepository.existsById(id)
+                : companyJPARepository.updateNameById(id, company.getName()) > 0;
+        if (!found) {
+            throw new CompanyNotFoundException();
+        }
     }
 
     public Company create(Company company) {
         return companyJPARepository.save(company);
     }
 
+    @Transactional(readOnly = true)
     public List<Employee> findEmployeesByCompanyId(Long id) {
         return employeeJPARepository.findByCompanyId(id);
     }
 
+    @Transactional(readOnly = true)
+    public EmployeeStats findStats(Long id) {
+        if (!companyJPARepository.existsById(id)) {
+            throw new CompanyNotFoundException();
+        }
+        return employeeJPARepository.findStatsByCompanyId(id)
+                .map(EmployeeStats::from)
+                .orElseGet(() -> EmployeeStats.empty(String.valueOf(id)));
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.COMPANIES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEES, allEntries = true)
+    })
+    @Transactional
     public void delete(Long id) {
-        companyJPARepository.deleteById(id);
+        employeeJPARepository.deleteAllByCompanyIdInBatch(id);
+        if (companyJPARepository.deleteByIdInBatch(id) == 0) {
+            throw new CompanyNotFoundException();
+        }
+        employeeChangePublisher.publish(listener -> listener.onCompanyDeleted(id));
+    }
+
+    private Company getCompany(Long id) {
+        return companyJPARepository.findById(id).orElseThrow(CompanyNotFoundException::new);
     }
 }
@@ -0,0 +1,16 @@
+package com.afs.restapi.service;
+
+import com.afs.restapi.entity.Employee;
+
+import java.util.Collection;
+
+public interface EmployeeChangeListener {
+
+    void onSaved(Employee employee);
+
+    void onPatched(Long id, Employee changes);
+
+    void onDeleted(Collection<Long> ids);
+
+    void onCompanyDeleted(Long companyId);
+}
@@ -0,0 +1,33 @@
+package com.afs.restapi.service;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+@Component
+@Profile("!reactive")
+public class EmployeeChangePublisher {
+
+    private final List<EmployeeChangeListener> listeners;
+
+    public EmployeeChangePublisher(List<EmployeeChangeListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    public void publish(Consumer<EmployeeChangeListener> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            listeners.forEach(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                listeners.forEach(change);
+            }
+        });
+    }
+}
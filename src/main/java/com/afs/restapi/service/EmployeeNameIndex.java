@@ -0,0 +1,280 @@
+package com.afs.restapi.service;
+
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.repository.EmployeeJPARepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Component
+@Profile("!reactive")
+public class EmployeeNameIndex implements EmployeeChangeListener, SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeNameIndex.class);
+    private static final int GRAM_SIZE = 3;
+    private static final int REBUILD_FETCH_SIZE = 1000;
+
+    private final EmployeeJPARepository employeeJPARepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxEntries;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private NavigableMap<Long, String> names = new TreeMap<>();
+    private Map<Long, Long> companyIds = new HashMap<>();
+    private Map<Long, Set<Long>> employeesByCompany = new HashMap<>();
+    private Map<String, NavigableSet<Long>> grams = new HashMap<>();
+    private NavigableMap<String, Set<Long>> sortedNames = new TreeMap<>();
+    private volatile boolean available;
+    private volatile boolean running;
+
+    public EmployeeNameIndex(EmployeeJPARepository employeeJPARepository, PlatformTransactionManager transactionManager,
+                             @Value("${employee.name-index.max-entries:1000000}") int maxEntries) {
+        this.employeeJPARepository = employeeJPARepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.maxEntries = maxEntries;
+    }
+
+    public Optional<List<Long>> findIdsContaining(String text, int limit) {
+        if (!available) {
+            return Optional.empty();
+        }
+        String query = normalize(text);
+        lock.readLock().lock();
+        try {
+            NavigableSet<Long> candidates = names.navigableKeySet();
+            Set<String> queryGrams = query.isEmpty() ? Set.of() : gramsOf(query, Math.min(query.length(), GRAM_SIZE));
+            for (String gram : queryGrams) {
+                NavigableSet<Long> ids = grams.get(gram);
+                if (ids == null) {
+                    return Optional.of(List.of());
+                }
+                if (ids.size() < candidates.size()) {
+                    candidates = ids;
+                }
+            }
+            return Optional.of(candidates.stream()
+                    .filter(id -> names.get(id).contains(query))
+                    .limit(limit)
+                    .collect(Collectors.toList()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<List<Long>> findIdsStartingWith(String prefix, int limit) {
+        if (!available) {
+            return Optional.empty();
+        }
+        String query = normalize(prefix);
+        lock.readLock().lock();
+        try {
+            return Optional.of(sortedNames.subMap(query, true, query + Character.MAX_VALUE, false).values().stream()
+                    .flatMap(Collection::stream)
+                    .limit(limit)
+                    .collect(Collectors.toList()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void rebuild() {
+        Map<Long, String> rebuiltNames = new HashMap<>();
+        Map<Long, Long> rebuiltCompanyIds = new HashMap<>();
+        boolean complete = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            employeeJPARepository.forEachEmployee(REBUILD_FETCH_SIZE, employee -> {
+                if (rebuiltNames.size() <= maxEntries) {
+                    if (employee.getName() != null) {
+                        rebuiltNames.put(employee.getId(), normalize(employee.getName()));
+                    }
+                    rebuiltCompanyIds.put(employee.getId(), employee.getCompanyId());
+                }
+            });
+            return rebuiltNames.size() <= maxEntries;
+        }));
+        lock.writeLock().lock();
+        try {
+            clear();
+            if (complete) {
+                rebuiltCompanyIds.forEach((id, companyId) -> put(id, rebuiltNames.get(id), companyId));
+                available = true;
+            } else {
+                disable();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onSaved(Employee employee) {
+        if (employee == null || employee.getId() == null) {
+            return;
+        }
+        write(() -> {
+            remove(employee.getId());
+            put(employee.getId(), employee.getName() == null ? null : normalize(employee.getName()), employee.getCompanyId());
+        });
+    }
+
+    @Override
+    public void onPatched(Long id, Employee changes) {
+        if (changes.getName() != null) {
+            write(() -> {
+                if (!companyIds.containsKey(id)) {
+                    return;
+                }
+                Long companyId = companyIds.get(id);
+                remove(id);
+                put(id, normalize(changes.getName()), companyId);
+            });
+        }
+    }
+
+    @Override
+    public void onDeleted(Collection<Long> ids) {
+        write(() -> ids.forEach(this::remove));
+    }
+
+    @Override
+    public void onCompanyDeleted(Long companyId) {
+        write(() -> {
+            Set<Long> ids = employeesByCompany.get(companyId);
+            if (ids != null) {
+                List.copyOf(ids).forEach(this::remove);
+            }
+        });
+    }
+
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void write(Runnable change) {
+        if (!available) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            change.run();
+            if (names.size() > maxEntries) {
+                disable();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Long id, String name, Long companyId) {
+        companyIds.put(id, companyId);
+        if (companyId != null) {
+            employeesByCompany.computeIfAbsent(companyId, key -> new HashSet<>()).add(id);
+        }
+        if (name == null) {
+            return;
+        }
+        names.put(id, name);
+        sortedNames.computeIfAbsent(name, key -> new TreeSet<>()).add(id);
+        for (String gram : gramsOf(name)) {
+            grams.computeIfAbsent(gram, key -> new TreeSet<>()).add(id);
+        }
+    }
+
+    private void remove(Long id) {
+        Long companyId = companyIds.remove(id);
+        if (companyId != null) {
+            removeFrom(employeesByCompany, companyId, id);
+        }
+        String name = names.remove(id);
+        if (name == null) {
+            return;
+        }
+        removeFrom(sortedNames, name, id);
+        for (String gram : gramsOf(name)) {
+            removeFrom(grams, gram, id);
+        }
+    }
+
+    private void disable() {
+        clear();
+        available = false;
+        LOGGER.warn("Employee name index exceeded {} entries, falling back to SQL name search", maxEntries);
+    }
+
+    private void clear() {
+        names = new TreeMap<>();
+        companyIds = new HashMap<>();
+        employeesByCompany = new HashMap<>();
+        grams = new HashMap<>();
+        sortedNames = new TreeMap<>();
+    }
+
+    private static <K> void removeFrom(Map<K, ? extends Set<Long>> index, K key, Long id) {
+        Set<Long> ids = index.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static Set<String> gramsOf(String name) {
+        Set<String> nameGrams = new HashSet<>();
+        for (int size = 1; size <= GRAM_SIZE; size++) {
+            nameGrams.addAll(gramsOf(name, size));
+        }
+        return nameGrams;
+    }
+
+    private static Set<String> gramsOf(String name, int size) {
+        if (name.length() < size) {
+            return Collections.emptySet();
+        }
+        Set<String> nameGrams = new HashSet<>();
+        for (int index = 0; index + size <= name.length(); index++) {
+            nameGrams.add(name.substring(index, index + size));
+        }
+        return nameGrams;
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
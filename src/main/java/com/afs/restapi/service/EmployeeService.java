@@ -1,59 +1,312 @@
 package com.afs.restapi.service;
 
+import com.afs.restapi.config.CacheConfig;
+import com.afs.restapi.dto.BatchItemFailure;
+import com.afs.restapi.dto.CursorPage;
+import com.afs.restapi.dto.EmployeeBatchResult;
+import com.afs.restapi.dto.EmployeeSearchCriteria;
+import com.afs.restapi.dto.EmployeeStats;
+import com.afs.restapi.dto.EmployeeStatsRow;
+import com.afs.restapi.dto.VersionSummary;
 import com.afs.restapi.entity.Employee;
 import com.afs.restapi.exception.EmployeeCreateException;
 import com.afs.restapi.exception.EmployeeNotFoundException;
+import com.afs.restapi.exception.InvalidGroupByException;
+import com.afs.restapi.exception.InvalidSortException;
+import com.afs.restapi.exception.VersionMismatchException;
 import com.afs.restapi.repository.EmployeeJPARepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+import static com.afs.restapi.repository.EmployeeSpecifications.after;
+import static com.afs.restapi.repository.EmployeeSpecifications.ageBetween;
+import static com.afs.restapi.repository.EmployeeSpecifications.hasCompanyId;
+import static com.afs.restapi.repository.EmployeeSpecifications.hasGender;
+import static com.afs.restapi.repository.EmployeeSpecifications.salaryBetween;
 
 @Service
+@Profile("!reactive")
 public class EmployeeService {
 
+    private static final int EXPORT_FETCH_SIZE = 500;
+    private static final String GROUP_BY_GENDER = "gender";
+    private static final String GROUP_BY_COMPANY_ID = "companyId";
+    private static final String SORT_BY_ID = "id";
+    private static final Map<String, Function<Employee, Number>> SORT_KEYS = Map.of(
+            "age", Employee::getAge,
+            "salary", Employee::getSalary,
+            SORT_BY_ID, Employee::getId);
+
     private final EmployeeJPARepository employeeJPARepository;
+    private final EmployeeNameIndex employeeNameIndex;
+    private final EmployeeChangePublisher employeeChangePublisher;
+    private final EmployeeWriteBehindBuffer employeeWriteBehindBuffer;
 
-    public EmployeeService(EmployeeJPARepository employeeJPARepository) {
+    public EmployeeService(EmployeeJPARepository employeeJPARepository, EmployeeNameIndex employeeNameIndex,
+                           EmployeeChangePublisher employeeChangePublisher, EmployeeWriteBehindBuffer employeeWriteBehindBuffer) {
         this.employeeJPARepository = employeeJPARepository;
+        this.employeeNameIndex = employeeNameIndex;
+        this.employeeChangePublisher = employeeChangePublisher;
+        this.employeeWriteBehindBuffer = employeeWriteBehindBuffer;
     }
 
+    @Transactional(readOnly = true)
     public List<Employee> findAll() {
         return employeeJPARepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<Employee> consumer) {
+        employeeJPARepository.forEachEmployee(EXPORT_FETCH_SIZE, consumer);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.EMPLOYEES, key = "#id", condition = "!@employeeWriteBehindBuffer.hasPending(#id)",
+            unless = "@employeeWriteBehindBuffer.hasPending(#id)")
+    @Transactional(readOnly = true)
     public Employee findById(Long id) {
         return employeeJPARepository.findById(id)
+                .map(employeeWriteBehindBuffer::overlay)
                 .orElseThrow(EmployeeNotFoundException::new);
     }
 
-    public void update(Long id, Employee employee) {
+    public boolean hasPendingUpdate(Long id) {
+        return employeeWriteBehindBuffer.hasPending(id);
+    }
+
+    public boolean bufferUpdate(Long id, Employee employee) {
+        if (!employeeWriteBehindBuffer.isEnabled()) {
+            return false;
+        }
+        if (!employeeWriteBehindBuffer.hasPending(id) && employeeJPARepository.findById(id).isEmpty()) {
+            throw new EmployeeNotFoundException();
+        }
+        employeeWriteBehindBuffer.enqueue(id, employee);
+        return true;
+    }
+
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.COMPANIES, key = "#result.companyId", condition = "#result.companyId != null")
+    })
+    public Employee update(Long id, Employee employee, Long expectedVersion) {
+        flushPendingUpdate(id);
         Employee toBeUpdatedEmployee = findById(id);
+        if (expectedVersion != null && toBeUpdatedEmployee.getVersion() != expectedVersion) {
+            throw new VersionMismatchException();
+        }
         if (employee.getSalary() != null) {
             toBeUpdatedEmployee.setSalary(employee.getSalary());
         }
         if (employee.getAge() != null) {
             toBeUpdatedEmployee.setAge(employee.getAge());
         }
-        employeeJPARepository.save(toBeUpdatedEmployee);
+        Employee updatedEmployee = employeeJPARepository.save(toBeUpdatedEmployee);
+        employeeChangePublisher.publish(listener -> listener.onSaved(updatedEmployee));
+        return updatedEmployee;
     }
 
+    @Transactional(readOnly = true)
+    public long findVersion(Long id) {
+        return employeeJPARepository.findVersionById(id)
+                .orElseThrow(EmployeeNotFoundException::new);
+    }
+
+    @Transactional(readOnly = true)
+    public VersionSummary summarizeVersions() {
+        return employeeJPARepository.summarizeVersions();
+    }
+
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.COMPANIES, allEntries = true)
+    })
+    public void patch(Long id, Employee employee) {
+        flushPendingUpdate(id);
+        if (employeeJPARepository.updateChangedFields(id, employee) == 0) {
+            throw new EmployeeNotFoundException();
+        }
+        employeeChangePublisher.publish(listener -> listener.onPatched(id, employee));
+    }
+
+    @Transactional(readOnly = true)
     public List<Employee> findAllByGender(String gender) {
         return employeeJPARepository.findAllByGender(gender);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.COMPANIES, key = "#employee.companyId", condition = "#employee.companyId != null")
     public Employee create(Employee employee) {
         if (employee.hasInvalidAge()) {
             throw new EmployeeCreateException();
         }
-        return employeeJPARepository.save(employee);
+        Employee savedEmployee = employeeJPARepository.save(employee);
+        employeeJPARepository.evictCompanyEmployees(savedEmployee.getCompanyId());
+        employeeChangePublisher.publish(listener -> listener.onSaved(savedEmployee));
+        return savedEmployee;
+    }
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.COMPANIES, allEntries = true)
+    public EmployeeBatchResult createAll(List<Employee> employees) {
+        List<Employee> validEmployees = new ArrayList<>();
+        List<BatchItemFailure> failures = new ArrayList<>();
+        for (int index = 0; index < employees.size(); index++) {
+            Employee employee = employees.get(index);
+            if (employee.getAge() == null || employee.hasInvalidAge()) {
+                failures.add(new BatchItemFailure(index, new EmployeeCreateException().getMessage()));
+            } else {
+                validEmployees.add(employee);
+            }
+        }
+        List<Employee> createdEmployees = employeeJPARepository.insertAll(validEmployees);
+        employeeChangePublisher.publish(listener -> createdEmployees.forEach(listener::onSaved));
+        return new EmployeeBatchResult(createdEmployees, failures);
+    }
+
+    @Transactional(readOnly = true)
+    public List<EmployeeStats> findStats(String groupBy) {
+        List<EmployeeStatsRow> rows;
+        if (GROUP_BY_GENDER.equals(groupBy)) {
+            rows = employeeJPARepository.findStatsGroupByGender();
+        } else if (GROUP_BY_COMPANY_ID.equals(groupBy)) {
+            rows = employeeJPARepository.findStatsGroupByCompanyId();
+        } else {
+            throw new InvalidGroupByException();
+        }
+        return rows.stream().map(EmployeeStats::from).collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<Employee> findByPage(Integer pageNumber, Integer pageSize) {
         return employeeJPARepository.findAll(PageRequest.of(pageNumber - 1, pageSize)).toList();
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<Employee> findByCursor(String after, Integer limit) {
+        int pageSize = Math.min(Math.max(limit, 1), CursorPage.MAX_LIMIT);
+        return CursorPage.of(employeeJPARepository.findByIdGreaterThanOrderByIdAsc(CursorPage.decode(after),
+                PageRequest.of(0, pageSize)), Employee::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Employee> findByNameContaining(String text, Integer limit) {
+        int pageSize = Math.min(Math.max(limit, 1), CursorPage.MAX_LIMIT);
+        return findIndexed(fetchSize -> employeeNameIndex.findIdsContaining(text, fetchSize), pageSize)
+                .orElseGet(() -> employeeJPARepository.findByNameContainingIgnoreCaseOrderByIdAsc(text, PageRequest.of(0, pageSize)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Employee> findByNamePrefix(String prefix, Integer limit) {
+        int pageSize = Math.min(Math.max(limit, 1), CursorPage.MAX_LIMIT);
+        return findIndexed(fetchSize -> employeeNameIndex.findIdsStartingWith(prefix, fetchSize), pageSize)
+                .orElseGet(() -> employeeJPARepository.findByNameStartingWithIgnoreCaseOrderByNameAscIdAsc(prefix, PageRequest.of(0, pageSize)));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Employee> search(EmployeeSearchCriteria criteria) {
+        List<Sort.Order> orders = toOrders(criteria.getSort());
+        int pageSize = Math.min(Math.max(criteria.getLimit(), 1), CursorPage.MAX_LIMIT);
+        Specification<Employee> specification = Specification.where(hasGender(criteria.getGender()))
+                .and(hasCompanyId(criteria.getCompanyId()))
+                .and(ageBetween(criteria.getMinAge(), criteria.getMaxAge()))
+                .and(salaryBetween(criteria.getMinSalary(), criteria.getMaxSalary()))
+                .and(after(orders, CursorPage.decodeKeys(criteria.getAfter(), orders.size())));
+        return CursorPage.ofKeys(employeeJPARepository.findSlice(specification, Sort.by(orders), pageSize),
+                employee -> orders.stream()
+                        .map(order -> sortKey(employee, order))
+                        .collect(Collectors.toList()));
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.COMPANIES, allEntries = true)
+    })
     public void delete(Long id) {
+        employeeWriteBehindBuffer.discard(id);
         employeeJPARepository.deleteById(id);
+        employeeJPARepository.evictAllCompanyEmployees();
+        employeeChangePublisher.publish(listener -> listener.onDeleted(List.of(id)));
+    }
+
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.EMPLOYEES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.COMPANIES, allEntries = true)
+    })
+    public void deleteAll(List<Long> ids) {
+        ids.forEach(employeeWriteBehindBuffer::discard);
+        employeeJPARepository.deleteAllByIdInBatch(ids);
+        employeeChangePublisher.publish(listener -> listener.onDeleted(ids));
+    }
+
+    private void flushPendingUpdate(Long id) {
+        if (employeeWriteBehindBuffer.hasPending(id)) {
+            employeeWriteBehindBuffer.flush(id);
+        }
+    }
+
+    private Optional<List<Employee>> findIndexed(IntFunction<Optional<List<Long>>> lookup, int pageSize) {
+        int fetchSize = pageSize;
+        while (true) {
+            Optional<List<Long>> ids = lookup.apply(fetchSize);
+            if (ids.isEmpty()) {
+                return Optional.empty();
+            }
+            List<Employee> employees = findAllInOrder(ids.get());
+            if (employees.size() >= pageSize || ids.get().size() < fetchSize) {
+                return Optional.of(employees.size() > pageSize ? employees.subList(0, pageSize) : employees);
+            }
+            fetchSize += pageSize - employees.size();
+        }
+    }
+
+    private List<Employee> findAllInOrder(List<Long> ids) {
+        Map<Long, Employee> employeesById = employeeJPARepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        return ids.stream()
+                .map(employeesById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private static Long sortKey(Employee employee, Sort.Order order) {
+        Number key = SORT_KEYS.get(order.getProperty()).apply(employee);
+        return key == null ? null : key.longValue();
+    }
+
+    private static List<Sort.Order> toOrders(List<String> sort) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (String field : sort) {
+            boolean descending = field.startsWith("-");
+            String property = descending ? field.substring(1) : field;
+            if (!SORT_KEYS.containsKey(property) || orders.stream().anyMatch(order -> order.getProperty().equals(property))) {
+                throw new InvalidSortException();
+            }
+            Sort.Order order = descending ? Sort.Order.desc(property) : Sort.Order.asc(property);
+            orders.add(SORT_BY_ID.equals(property) ? order : order.nullsLast());
+        }
+        if (orders.stream().noneMatch(order -> order.getProperty().equals(SORT_BY_ID))) {
+            boolean descending = !orders.isEmpty() && orders.get(orders.size() - 1).isDescending();
+            orders.add(descending ? Sort.Order.desc(SORT_BY_ID) : Sort.Order.asc(SORT_BY_ID));
+        }
+        return orders;
     }
 }
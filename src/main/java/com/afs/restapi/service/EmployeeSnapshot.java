@@ -0,0 +1,599 @@
+package com.afs.restapi.service;
+
+import com.afs.restapi.dto.CursorPage;
+import com.afs.restapi.dto.EmployeeReport;
+import com.afs.restapi.dto.EmployeeReportFilter;
+import com.afs.restapi.dto.EmployeeSalaryRow;
+import com.afs.restapi.dto.SnapshotStats;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.repository.EmployeeJPARepository;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Component
+@Profile("!reactive")
+public class EmployeeSnapshot implements EmployeeChangeListener, SmartLifecycle {
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final long NO_COMPANY = Long.MIN_VALUE;
+    private static final byte NULL_GENDER = -1;
+    private static final int ANY_GENDER = -2;
+    private static final int CHUNK_SIZE = 16_384;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int REBUILD_FETCH_SIZE = 1000;
+    private static final int BYTES_PER_ROW = Long.BYTES + Integer.BYTES + Integer.BYTES + Long.BYTES + Byte.BYTES;
+
+    private final EmployeeJPARepository employeeJPARepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Object writeLock = new Object();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Columns columns = new Columns(INITIAL_CAPACITY);
+    private volatile boolean running;
+
+    public EmployeeSnapshot(EmployeeJPARepository employeeJPARepository, PlatformTransactionManager transactionManager) {
+        this.employeeJPARepository = employeeJPARepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public EmployeeReport summarize(EmployeeReportFilter filter) {
+        return read(snapshot -> {
+            Filter compiled = new Filter(snapshot, filter);
+            return scan(snapshot, compiled, Accumulator::new, (accumulator, row) -> accumulator.add(snapshot, row),
+                    Accumulator::merge).toReport(null);
+        });
+    }
+
+    public List<EmployeeReport> summarizeByGender(EmployeeReportFilter filter) {
+        return read(snapshot -> {
+            Filter compiled = new Filter(snapshot, filter);
+            int groupCount = snapshot.genderDictionary.size() + 1;
+            Accumulator[] groups = scan(snapshot, compiled, () -> Accumulator.array(groupCount),
+                    (accumulators, row) -> accumulators[genderSlot(snapshot.genders[row], groupCount)].add(snapshot, row),
+                    Accumulator::mergeAll);
+            List<EmployeeReport> reports = new ArrayList<>();
+            for (int code = 0; code < groupCount; code++) {
+                if (groups[code].count > 0) {
+                    String gender = code == groupCount - 1 ? null : snapshot.genderDictionary.get(code);
+                    reports.add(groups[code].toReport(gender));
+                }
+            }
+            reports.sort(Comparator.comparing(EmployeeReport::getGroup, Comparator.nullsLast(Comparator.naturalOrder())));
+            return reports;
+        });
+    }
+
+    public List<EmployeeReport> summarizeByCompany(EmployeeReportFilter filter) {
+        return read(snapshot -> {
+            Filter compiled = new Filter(snapshot, filter);
+            CompanyGroups groups = scan(snapshot, compiled, CompanyGroups::new,
+                    (companyGroups, row) -> companyGroups.get(snapshot.companyIds[row]).add(snapshot, row),
+                    CompanyGroups::merge);
+            return groups.toReports();
+        });
+    }
+
+    public List<EmployeeSalaryRow> findTopSalaries(EmployeeReportFilter filter, Integer limit) {
+        int size = Math.min(Math.max(limit, 1), CursorPage.MAX_LIMIT);
+        return read(snapshot -> {
+            Filter compiled = new Filter(snapshot, filter);
+            TopRows topRows = scan(snapshot, compiled, () -> new TopRows(snapshot, size),
+                    (rows, row) -> rows.offer(row), TopRows::merge);
+            return topRows.sortedRows().stream()
+                    .map(snapshot::toSalaryRow)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    public SnapshotStats stats() {
+        return read(snapshot -> new SnapshotStats(snapshot.size - snapshot.deletedCount, snapshot.deletedCount,
+                (long) snapshot.ids.length * BYTES_PER_ROW + snapshot.ids.length / Byte.SIZE));
+    }
+
+    public void rebuild() {
+        synchronized (writeLock) {
+            Columns rebuilt = new Columns(INITIAL_CAPACITY);
+            transactionTemplate.executeWithoutResult(status ->
+                    employeeJPARepository.forEachEmployee(REBUILD_FETCH_SIZE, rebuilt::upsert));
+            lock.writeLock().lock();
+            try {
+                columns = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Override
+    public void onSaved(Employee employee) {
+        if (employee != null && employee.getId() != null) {
+            write(snapshot -> snapshot.upsert(employee));
+        }
+    }
+
+    @Override
+    public void onPatched(Long id, Employee changes) {
+        write(snapshot -> snapshot.patch(id, changes));
+    }
+
+    @Override
+    public void onDeleted(Collection<Long> ids) {
+        write(snapshot -> ids.forEach(snapshot::delete));
+    }
+
+    @Override
+    public void onCompanyDeleted(Long companyId) {
+        write(snapshot -> snapshot.deleteByCompanyId(companyId));
+    }
+
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private <T> T read(Function<Columns, T> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(columns);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Consumer<Columns> change) {
+        synchronized (writeLock) {
+            lock.writeLock().lock();
+            try {
+                change.accept(columns);
+                columns.compactIfSparse();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static <A> A scan(Columns snapshot, Filter filter, Supplier<A> supplier, ObjIntConsumer<A> accumulator,
+                              BinaryOperator<A> combiner) {
+        if (filter.empty) {
+            return supplier.get();
+        }
+        int chunks = (snapshot.size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> {
+                    A result = supplier.get();
+                    int end = Math.min(snapshot.size, (chunk + 1) * CHUNK_SIZE);
+                    for (int row = chunk * CHUNK_SIZE; row < end; row++) {
+                        if (filter.matches(snapshot, row)) {
+                            accumulator.accept(result, row);
+                        }
+                    }
+                    return result;
+                })
+                .reduce(combiner)
+                .orElseGet(supplier);
+    }
+
+    private static int genderSlot(byte code, int groupCount) {
+        return code == NULL_GENDER ? groupCount - 1 : code;
+    }
+
+    private static final class Columns {
+        private final List<String> genderDictionary = new ArrayList<>();
+        private final Map<String, Byte> genderCodes = new HashMap<>();
+        private final BitSet deleted = new BitSet();
+        private long[] ids;
+        private int[] ages;
+        private int[] salaries;
+        private long[] companyIds;
+        private byte[] genders;
+        private int size;
+        private int deletedCount;
+
+        private Columns(int capacity) {
+            ids = new long[capacity];
+            ages = new int[capacity];
+            salaries = new int[capacity];
+            companyIds = new long[capacity];
+            genders = new byte[capacity];
+        }
+
+        private void upsert(Employee employee) {
+            int row = Arrays.binarySearch(ids, 0, size, employee.getId());
+            if (row < 0) {
+                row = insertRow(-row - 1, employee.getId());
+            } else if (deleted.get(row)) {
+                return;
+            }
+            ages[row] = toInt(employee.getAge());
+            salaries[row] = toInt(employee.getSalary());
+            companyIds[row] = employee.getCompanyId() == null ? NO_COMPANY : employee.getCompanyId();
+            genders[row] = encodeGender(employee.getGender());
+        }
+
+        private void patch(Long id, Employee changes) {
+            int row = findLiveRow(id);
+            if (row < 0) {
+                return;
+            }
+            if (changes.getAge() != null) {
+                ages[row] = changes.getAge();
+            }
+            if (changes.getSalary() != null) {
+                salaries[row] = changes.getSalary();
+            }
+        }
+
+        private void delete(Long id) {
+            int row = findLiveRow(id);
+            if (row >= 0) {
+                deleted.set(row);
+                deletedCount++;
+            }
+        }
+
+        private void deleteByCompanyId(Long companyId) {
+            for (int row = 0; row < size; row++) {
+                if (companyIds[row] == companyId && !deleted.get(row)) {
+                    deleted.set(row);
+                    deletedCount++;
+                }
+            }
+        }
+
+        private int findLiveRow(Long id) {
+            int row = Arrays.binarySearch(ids, 0, size, id);
+            return row >= 0 && !deleted.get(row) ? row : -1;
+        }
+
+        private int insertRow(int row, long id) {
+            if (size == ids.length) {
+                int capacity = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                ages = Arrays.copyOf(ages, capacity);
+                salaries = Arrays.copyOf(salaries, capacity);
+                companyIds = Arrays.copyOf(companyIds, capacity);
+                genders = Arrays.copyOf(genders, capacity);
+            }
+            if (row < size) {
+                System.arraycopy(ids, row, ids, row + 1, size - row);
+                System.arraycopy(ages, row, ages, row + 1, size - row);
+                System.arraycopy(salaries, row, salaries, row + 1, size - row);
+                System.arraycopy(companyIds, row, companyIds, row + 1, size - row);
+                System.arraycopy(genders, row, genders, row + 1, size - row);
+                for (int shifted = size; shifted > row; shifted--) {
+                    deleted.set(shifted, deleted.get(shifted - 1));
+                }
+                deleted.clear(row);
+            }
+            ids[row] = id;
+            size++;
+            return row;
+        }
+
+        private void compactIfSparse() {
+            if (deletedCount == 0 || deletedCount * 4 < size) {
+                return;
+            }
+            int live = 0;
+            for (int row = 0; row < size; row++) {
+                if (!deleted.get(row)) {
+                    ids[live] = ids[row];
+                    ages[live] = ages[row];
+                    salaries[live] = salaries[row];
+                    companyIds[live] = companyIds[row];
+                    genders[live] = genders[row];
+                    live++;
+                }
+            }
+            size = live;
+            deleted.clear();
+            deletedCount = 0;
+        }
+
+        private byte encodeGender(String gender) {
+            if (gender == null) {
+                return NULL_GENDER;
+            }
+            return genderCodes.computeIfAbsent(gender, key -> {
+                if (genderDictionary.size() == Byte.MAX_VALUE) {
+                    throw new IllegalStateException("too many distinct genders for the employee snapshot");
+                }
+                genderDictionary.add(key);
+                return (byte) (genderDictionary.size() - 1);
+            });
+        }
+
+        private EmployeeSalaryRow toSalaryRow(int row) {
+            return new EmployeeSalaryRow(ids[row],
+                    companyIds[row] == NO_COMPANY ? null : companyIds[row],
+                    genders[row] == NULL_GENDER ? null : genderDictionary.get(genders[row]),
+                    ages[row] == NULL_INT ? null : ages[row],
+                    salaries[row] == NULL_INT ? null : salaries[row]);
+        }
+
+        private static int toInt(Integer value) {
+            return value == null ? NULL_INT : value;
+        }
+    }
+
+    private static final class Filter {
+        private final int gender;
+        private final boolean anyCompany;
+        private final long companyId;
+        private final boolean ageBounded;
+        private final int minAge;
+        private final int maxAge;
+        private final boolean salaryBounded;
+        private final int minSalary;
+        private final int maxSalary;
+        private final boolean empty;
+
+        private Filter(Columns snapshot, EmployeeReportFilter filter) {
+            Byte genderCode = filter.getGender() == null ? null : snapshot.genderCodes.get(filter.getGender());
+            gender = filter.getGender() == null ? ANY_GENDER : genderCode == null ? NULL_GENDER : genderCode;
+            anyCompany = filter.getCompanyId() == null;
+            companyId = anyCompany ? NO_COMPANY : filter.getCompanyId();
+            ageBounded = filter.getMinAge() != null || filter.getMaxAge() != null;
+            minAge = filter.getMinAge() == null ? Integer.MIN_VALUE : filter.getMinAge();
+            maxAge = filter.getMaxAge() == null ? Integer.MAX_VALUE : filter.getMaxAge();
+            salaryBounded = filter.getMinSalary() != null || filter.getMaxSalary() != null;
+            minSalary = filter.getMinSalary() == null ? Integer.MIN_VALUE : filter.getMinSalary();
+            maxSalary = filter.getMaxSalary() == null ? Integer.MAX_VALUE : filter.getMaxSalary();
+            empty = filter.getGender() != null && genderCode == null;
+        }
+
+        private boolean matches(Columns snapshot, int row) {
+            return !snapshot.deleted.get(row)
+                    && (gender == ANY_GENDER || snapshot.genders[row] == gender)
+                    && (anyCompany || snapshot.companyIds[row] == companyId)
+                    && (!ageBounded || snapshot.ages[row] != NULL_INT && snapshot.ages[row] >= minAge && snapshot.ages[row] <= maxAge)
+                    && (!salaryBounded || snapshot.salaries[row] != NULL_INT
+                    && snapshot.salaries[row] >= minSalary && snapshot.salaries[row] <= maxSalary);
+        }
+    }
+
+    private static final class Accumulator {
+        private long count;
+        private long salaryCount;
+        private long salarySum;
+        private int salaryMin = Integer.MAX_VALUE;
+        private int salaryMax = Integer.MIN_VALUE;
+        private long ageCount;
+        private long ageSum;
+
+        private static Accumulator[] array(int size) {
+            Accumulator[] accumulators = new Accumulator[size];
+            for (int index = 0; index < size; index++) {
+                accumulators[index] = new Accumulator();
+            }
+            return accumulators;
+        }
+
+        private static Accumulator[] mergeAll(Accumulator[] left, Accumulator[] right) {
+            for (int index = 0; index < left.length; index++) {
+                left[index].merge(right[index]);
+            }
+            return left;
+        }
+
+        private void add(Columns snapshot, int row) {
+            count++;
+            int salary = snapshot.salaries[row];
+            if (salary != NULL_INT) {
+                salaryCount++;
+                salarySum += salary;
+                salaryMin = Math.min(salaryMin, salary);
+                salaryMax = Math.max(salaryMax, salary);
+            }
+            int age = snapshot.ages[row];
+            if (age != NULL_INT) {
+                ageCount++;
+                ageSum += age;
+            }
+        }
+
+        private Accumulator merge(Accumulator other) {
+            count += other.count;
+            salaryCount += other.salaryCount;
+            salarySum += other.salarySum;
+            salaryMin = Math.min(salaryMin, other.salaryMin);
+            salaryMax = Math.max(salaryMax, other.salaryMax);
+            ageCount += other.ageCount;
+            ageSum += other.ageSum;
+            return this;
+        }
+
+        private EmployeeReport toReport(String group) {
+            return new EmployeeReport(group, count, salarySum,
+                    salaryCount == 0 ? null : (double) salarySum / salaryCount,
+                    salaryCount == 0 ? null : salaryMin,
+                    salaryCount == 0 ? null : salaryMax,
+                    ageCount == 0 ? null : (double) ageSum / ageCount);
+        }
+    }
+
+    private static final class CompanyGroups {
+        private long[] keys = new long[16];
+        private Accumulator[] values = new Accumulator[16];
+        private int size;
+
+        private Accumulator get(long companyId) {
+            int mask = keys.length - 1;
+            int slot = Long.hashCode(companyId * 0x9E3779B97F4A7C15L) & mask;
+            while (values[slot] != null) {
+                if (keys[slot] == companyId) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+                return get(companyId);
+            }
+            keys[slot] = companyId;
+            values[slot] = new Accumulator();
+            size++;
+            return values[slot];
+        }
+
+        private CompanyGroups merge(CompanyGroups other) {
+            for (int slot = 0; slot < other.keys.length; slot++) {
+                if (other.values[slot] != null) {
+                    get(other.keys[slot]).merge(other.values[slot]);
+                }
+            }
+            return this;
+        }
+
+        private List<EmployeeReport> toReports() {
+            List<Integer> slots = new ArrayList<>(size);
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (values[slot] != null) {
+                    slots.add(slot);
+                }
+            }
+            slots.sort(Comparator.comparingLong(slot -> keys[slot]));
+            return slots.stream()
+                    .map(slot -> values[slot].toReport(keys[slot] == NO_COMPANY ? null : String.valueOf(keys[slot])))
+                    .collect(Collectors.toList());
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            Accumulator[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new Accumulator[oldValues.length * 2];
+            size = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldValues[slot] != null) {
+                    int mask = keys.length - 1;
+                    int target = Long.hashCode(oldKeys[slot] * 0x9E3779B97F4A7C15L) & mask;
+                    while (values[target] != null) {
+                        target = (target + 1) & mask;
+                    }
+                    keys[target] = oldKeys[slot];
+                    values[target] = oldValues[slot];
+                    size++;
+                }
+            }
+        }
+    }
+
+    private static final class TopRows {
+        private final Columns snapshot;
+        private final int[] heap;
+        private int size;
+
+        private TopRows(Columns snapshot, int limit) {
+            this.snapshot = snapshot;
+            this.heap = new int[limit];
+        }
+
+        private void offer(int row) {
+            if (snapshot.salaries[row] == NULL_INT) {
+                return;
+            }
+            if (size < heap.length) {
+                heap[size] = row;
+                siftUp(size++);
+            } else if (isBetter(row, heap[0])) {
+                heap[0] = row;
+                siftDown(0);
+            }
+        }
+
+        private TopRows merge(TopRows other) {
+            for (int index = 0; index < other.size; index++) {
+                offer(other.heap[index]);
+            }
+            return this;
+        }
+
+        private List<Integer> sortedRows() {
+            return Arrays.stream(heap, 0, size)
+                    .boxed()
+                    .sorted((left, right) -> isBetter(left, right) ? -1 : isBetter(right, left) ? 1 : 0)
+                    .collect(Collectors.toList());
+        }
+
+        private boolean isBetter(int row, int other) {
+            int salary = snapshot.salaries[row];
+            int otherSalary = snapshot.salaries[other];
+            return salary != otherSalary ? salary > otherSalary : snapshot.ids[row] < snapshot.ids[other];
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (!isBetter(heap[parent], heap[index])) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int worst = index;
+                int left = index * 2 + 1;
+                int right = left + 1;
+                if (left < size && isBetter(heap[worst], heap[left])) {
+                    worst = left;
+                }
+                if (right < size && isBetter(heap[worst], heap[right])) {
+                    worst = right;
+                }
+                if (worst == index) {
+                    return;
+                }
+                swap(index, worst);
+                index = worst;
+            }
+        }
+
+        private void swap(int left, int right) {
+            int row = heap[left];
+            heap[left] = heap[right];
+            heap[right] = row;
+        }
+    }
+}
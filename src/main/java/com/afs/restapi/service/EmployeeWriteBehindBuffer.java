@@ -0,0 +1,270 @@
+package com.afs.restapi.service;
+
+import com.afs.restapi.config.CacheConfig;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.repository.EmployeeJPARepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@Profile("!reactive")
+public class EmployeeWriteBehindBuffer implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmployeeWriteBehindBuffer.class);
+
+    private final EmployeeJPARepository employeeJPARepository;
+    private final EmployeeChangePublisher employeeChangePublisher;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration flushInterval;
+    private final int maxPending;
+    private final Timer flushLag;
+    private final Map<Long, PendingUpdate> pending = new ConcurrentHashMap<>();
+    private final Map<Long, PendingUpdate> inFlight = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private volatile ScheduledExecutorService executor;
+
+    public EmployeeWriteBehindBuffer(EmployeeJPARepository employeeJPARepository, EmployeeChangePublisher employeeChangePublisher,
+                                     CacheManager cacheManager, PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${employee.write-behind.enabled:false}") boolean enabled,
+                                     @Value("${employee.write-behind.flush-interval:200ms}") Duration flushInterval,
+                                     @Value("${employee.write-behind.max-pending:500}") int maxPending) {
+        this.employeeJPARepository = employeeJPARepository;
+        this.employeeChangePublisher = employeeChangePublisher;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = enabled;
+        this.flushInterval = flushInterval;
+        this.maxPending = maxPending;
+        this.flushLag = Timer.builder("employee.write.behind.flush.lag")
+                .description("Time from the first buffered change of an employee until it was written")
+                .register(meterRegistry);
+        Gauge.builder("employee.write.behind.pending", pending, Map::size)
+                .description("Employees with buffered changes waiting to be written")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void enqueue(Long id, Employee changes) {
+        pending.merge(id, new PendingUpdate(changes.getAge(), changes.getSalary(), System.nanoTime()), PendingUpdate::merge);
+        evictCachedEmployee(id);
+        if (pending.size() >= maxPending && flushRequested.compareAndSet(false, true)) {
+            requestFlush();
+        }
+    }
+
+    public boolean hasPending(Long id) {
+        return pending.containsKey(id) || inFlight.containsKey(id);
+    }
+
+    public Employee overlay(Employee employee) {
+        PendingUpdate inFlightUpdate = inFlight.get(employee.getId());
+        PendingUpdate pendingUpdate = pending.get(employee.getId());
+        if (inFlightUpdate == null && pendingUpdate == null) {
+            return employee;
+        }
+        Employee current = new Employee(employee.getId(), employee.getName(), employee.getAge(), employee.getGender(),
+                employee.getSalary());
+        current.setCompanyId(employee.getCompanyId());
+        current.setVersion(employee.getVersion());
+        if (inFlightUpdate != null) {
+            inFlightUpdate.applyTo(current);
+        }
+        if (pendingUpdate != null) {
+            pendingUpdate.applyTo(current);
+        }
+        return current;
+    }
+
+    public synchronized void discard(Long id) {
+        pending.remove(id);
+        inFlight.remove(id);
+    }
+
+    public synchronized void flush() {
+        flushRequested.set(false);
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<Long, PendingUpdate> batch = new HashMap<>();
+        for (Map.Entry<Long, PendingUpdate> entry : pending.entrySet()) {
+            inFlight.put(entry.getKey(), entry.getValue());
+            batch.put(entry.getKey(), entry.getValue());
+            pending.remove(entry.getKey(), entry.getValue());
+        }
+        Map<Long, Employee> changes = new HashMap<>();
+        batch.forEach((id, update) -> changes.put(id, update.toEmployee()));
+        List<Long> updatedIds;
+        try {
+            updatedIds = transactionTemplate.execute(status -> employeeJPARepository.updateAgeAndSalaryInBatch(changes));
+        } catch (RuntimeException exception) {
+            batch.forEach((id, update) -> {
+                pending.merge(id, update, (newer, older) -> older.merge(newer));
+                inFlight.remove(id, update);
+            });
+            LOGGER.error("Failed to flush {} buffered employee updates, will retry", batch.size(), exception);
+            return;
+        }
+        long now = System.nanoTime();
+        employeeJPARepository.evictAllCompanyEmployees();
+        evictCachedCompanies();
+        for (Long id : updatedIds) {
+            PendingUpdate update = batch.get(id);
+            flushLag.record(now - update.enqueuedAt, TimeUnit.NANOSECONDS);
+            employeeChangePublisher.publish(listener -> listener.onPatched(id, changes.get(id)));
+        }
+        if (updatedIds.size() < batch.size()) {
+            LOGGER.warn("Dropped {} buffered employee updates for employees that no longer exist", batch.size() - updatedIds.size());
+        }
+        batch.forEach((id, update) -> {
+            inFlight.remove(id, update);
+            evictCachedEmployee(id);
+        });
+    }
+
+    public synchronized void flush(Long id) {
+        PendingUpdate update = pending.remove(id);
+        if (update == null) {
+            return;
+        }
+        inFlight.put(id, update);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (inFlight.remove(id, update) && status != STATUS_COMMITTED) {
+                    pending.merge(id, update, (newer, older) -> older.merge(newer));
+                }
+                evictCachedEmployee(id);
+            }
+        });
+        Employee changes = update.toEmployee();
+        if (employeeJPARepository.updateAgeAndSalaryInBatch(Map.of(id, changes)).isEmpty()) {
+            return;
+        }
+        employeeJPARepository.evictAllCompanyEmployees();
+        evictCachedCompanies();
+        flushLag.record(System.nanoTime() - update.enqueuedAt, TimeUnit.NANOSECONDS);
+        employeeChangePublisher.publish(listener -> listener.onPatched(id, changes));
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!enabled) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        flush();
+        if (!pending.isEmpty()) {
+            LOGGER.error("Shut down with {} buffered employee updates not written", pending.size());
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return executor != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void requestFlush() {
+        ScheduledExecutorService scheduledExecutor = executor;
+        if (scheduledExecutor != null) {
+            scheduledExecutor.execute(this::flush);
+        } else {
+            flush();
+        }
+    }
+
+    private void evictCachedEmployee(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.EMPLOYEES);
+        if (cache != null) {
+            cache.evict(id);
+        }
+    }
+
+    private void evictCachedCompanies() {
+        Cache cache = cacheManager.getCache(CacheConfig.COMPANIES);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private static final class PendingUpdate {
+        private final Integer age;
+        private final Integer salary;
+        private final long enqueuedAt;
+
+        private PendingUpdate(Integer age, Integer salary, long enqueuedAt) {
+            this.age = age;
+            this.salary = salary;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        private PendingUpdate merge(PendingUpdate newer) {
+            return new PendingUpdate(newer.age != null ? newer.age : age, newer.salary != null ? newer.salary : salary,
+                    Math.min(enqueuedAt, newer.enqueuedAt));
+        }
+
+        private void applyTo(Employee employee) {
+            if (age != null) {
+                employee.setAge(age);
+            }
+            if (salary != null) {
+                employee.setSalary(salary);
+            }
+        }
+
+        private Employee toEmployee() {
+            Employee employee = new Employee();
+            employee.setAge(age);
+            employee.setSalary(salary);
+            return employee;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.afs.restapi.service;
+
+import com.afs.restapi.dto.CompanySummary;
+import com.afs.restapi.dto.CursorPage;
+import com.afs.restapi.entity.Company;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.exception.CompanyNotFoundException;
+import com.afs.restapi.repository.CompanyR2dbcRepository;
+import com.afs.restapi.repository.EmployeeR2dbcRepository;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Profile("reactive")
+public class ReactiveCompanyService {
+
+    private static final int EMPLOYEE_BATCH_SIZE = 100;
+
+    private final CompanyR2dbcRepository companyR2dbcRepository;
+    private final EmployeeR2dbcRepository employeeR2dbcRepository;
+    private final TransactionalOperator transactionalOperator;
+
+    public ReactiveCompanyService(CompanyR2dbcRepository companyR2dbcRepository,
+                                  EmployeeR2dbcRepository employeeR2dbcRepository,
+                                  ConnectionFactory connectionFactory) {
+        this.companyR2dbcRepository = companyR2dbcRepository;
+        this.employeeR2dbcRepository = employeeR2dbcRepository;
+        this.transactionalOperator = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    public Flux<Company> findAll() {
+        return withEmployees(companyR2dbcRepository.findAll());
+    }
+
+    public Flux<Company> findByPage(Integer pageNumber, Integer pageSize) {
+        return withEmployees(companyR2dbcRepository.findPage((pageNumber - 1) * pageSize, pageSize));
+    }
+
+    public Flux<CompanySummary> findAllSummaries() {
+        return companyR2dbcRepository.findAllSummaries();
+    }
+
+    public Flux<CompanySummary> findSummariesByPage(Integer pageNumber, Integer pageSize) {
+        return companyR2dbcRepository.findSummaryPage((pageNumber - 1) * pageSize, pageSize);
+    }
+
+    public Mono<CursorPage<Company>> findByCursor(String after, Integer limit) {
+        int pageSize = Math.min(Math.max(limit, 1), CursorPage.MAX_LIMIT);
+        return Mono.fromCallable(() -> CursorPage.decode(after))
+                .flatMapMany(afterId -> withEmployees(companyR2dbcRepository.findAfter(afterId, pageSize + 1)))
+                .collectList()
+                .map(companies -> CursorPage.of(ReactiveEmployeeService.toSlice(companies, pageSize), Company::getId));
+    }
+
+    public Mono<Company> findById(Long id) {
+        return getCompany(id)
+                .flatMap(company -> employeeR2dbcRepository.findByCompanyId(id)
+                        .collectList()
+                        .map(employees -> {
+                            company.setEmployees(employees);
+                            return company;
+                        }));
+    }
+
+    public Mono<Void> update(Long id, Company company) {
+        return companyR2dbcRepository.updateName(id, company.getName())
+                .filter(updated -> updated > 0)
+                .switchIfEmpty(Mono.error(CompanyNotFoundException::new))
+                .then();
+    }
+
+    public Mono<Void> patch(Long id, Company company) {
+        if (company.getName() == null) {
+            return getCompany(id).then();
+        }
+        return update(id, company);
+    }
+
+    public Mono<Company> create(Company company) {
+        return companyR2dbcRepository.insert(company);
+    }
+
+    public Flux<Employee> findEmployeesByCompanyId(Long id) {
+        return employeeR2dbcRepository.findByCompanyId(id);
+    }
+
+    public Mono<Void> delete(Long id) {
+        return employeeR2dbcRepository.deleteByCompanyId(id)
+                .then(companyR2dbcRepository.deleteById(id))
+                .filter(deleted -> deleted > 0)
+                .switchIfEmpty(Mono.error(CompanyNotFoundException::new))
+                .as(transactionalOperator::transactional)
+                .then();
+    }
+
+    private Mono<Company> getCompany(Long id) {
+        return companyR2dbcRepository.findById(id)
+                .switchIfEmpty(Mono.error(CompanyNotFoundException::new));
+    }
+
+    private Flux<Company> withEmployees(Flux<Company> companies) {
+        return companies.buffer(EMPLOYEE_BATCH_SIZE)
+                .concatMap(batch -> {
+                    Map<Long, Company> companiesById = new LinkedHashMap<>();
+                    batch.forEach(company -> {
+                        company.setEmployees(new ArrayList<>());
+                        companiesById.put(company.getId(), company);
+                    });
+                    return employeeR2dbcRepository.findByCompanyIds(companiesById.keySet())
+                            .doOnNext(employee -> companiesById.get(employee.getCompanyId()).getEmployees().add(employee))
+                            .thenMany(Flux.fromIterable(batch));
+                });
+    }
+}
@@ -0,0 +1,111 @@
+package com.afs.restapi.service;
+
+import com.afs.restapi.dto.BatchItemFailure;
+import com.afs.restapi.dto.CursorPage;
+import com.afs.restapi.dto.EmployeeBatchResult;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.exception.EmployeeCreateException;
+import com.afs.restapi.exception.EmployeeNotFoundException;
+import com.afs.restapi.repository.EmployeeR2dbcRepository;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@Profile("reactive")
+public class ReactiveEmployeeService {
+
+    private final EmployeeR2dbcRepository employeeR2dbcRepository;
+    private final TransactionalOperator transactionalOperator;
+
+    public ReactiveEmployeeService(EmployeeR2dbcRepository employeeR2dbcRepository, ConnectionFactory connectionFactory) {
+        this.employeeR2dbcRepository = employeeR2dbcRepository;
+        this.transactionalOperator = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    public Flux<Employee> findAll() {
+        return employeeR2dbcRepository.findAll();
+    }
+
+    public Mono<Employee> findById(Long id) {
+        return employeeR2dbcRepository.findById(id)
+                .switchIfEmpty(Mono.error(EmployeeNotFoundException::new));
+    }
+
+    public Mono<Void> update(Long id, Employee employee) {
+        return employeeR2dbcRepository.updateAgeAndSalary(id, employee.getAge(), employee.getSalary())
+                .filter(updated -> updated > 0)
+                .switchIfEmpty(Mono.error(EmployeeNotFoundException::new))
+                .then();
+    }
+
+    public Mono<Void> patch(Long id, Employee employee) {
+        return employeeR2dbcRepository.updateChangedFields(id, employee)
+                .filter(updated -> updated > 0)
+                .switchIfEmpty(Mono.error(EmployeeNotFoundException::new))
+                .then();
+    }
+
+    public Flux<Employee> findAllByGender(String gender) {
+        return employeeR2dbcRepository.findAllByGender(gender);
+    }
+
+    public Mono<Employee> create(Employee employee) {
+        if (employee.hasInvalidAge()) {
+            return Mono.error(new EmployeeCreateException());
+        }
+        return employeeR2dbcRepository.insert(employee);
+    }
+
+    public Mono<EmployeeBatchResult> createAll(List<Employee> employees) {
+        List<Employee> validEmployees = new ArrayList<>();
+        List<BatchItemFailure> failures = new ArrayList<>();
+        for (int index = 0; index < employees.size(); index++) {
+            Employee employee = employees.get(index);
+            if (employee.getAge() == null || employee.hasInvalidAge()) {
+                failures.add(new BatchItemFailure(index, new EmployeeCreateException().getMessage()));
+            } else {
+                validEmployees.add(employee);
+            }
+        }
+        return Flux.fromIterable(validEmployees)
+                .concatMap(employeeR2dbcRepository::insert)
+                .collectList()
+                .as(transactionalOperator::transactional)
+                .map(created -> new EmployeeBatchResult(created, failures));
+    }
+
+    public Flux<Employee> findByPage(Integer pageNumber, Integer pageSize) {
+        return employeeR2dbcRepository.findPage((pageNumber - 1) * pageSize, pageSize);
+    }
+
+    public Mono<CursorPage<Employee>> findByCursor(String after, Integer limit) {
+        int pageSize = Math.min(Math.max(limit, 1), CursorPage.MAX_LIMIT);
+        return Mono.fromCallable(() -> CursorPage.decode(after))
+                .flatMap(afterId -> employeeR2dbcRepository.findAfter(afterId, pageSize + 1).collectList())
+                .map(employees -> CursorPage.of(toSlice(employees, pageSize), Employee::getId));
+    }
+
+    public Mono<Void> delete(Long id) {
+        return employeeR2dbcRepository.deleteById(id).then();
+    }
+
+    public Mono<Void> deleteAll(List<Long> ids) {
+        return ids.isEmpty() ? Mono.empty() : employeeR2dbcRepository.deleteByIds(ids).then();
+    }
+
+    static <T> SliceImpl<T> toSlice(List<T> rows, int pageSize) {
+        boolean hasNext = rows.size() > pageSize;
+        List<T> content = hasNext ? rows.subList(0, pageSize) : rows;
+        return new SliceImpl<>(content, PageRequest.of(0, pageSize), hasNext);
+    }
+}
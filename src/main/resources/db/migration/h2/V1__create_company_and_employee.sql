@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS company
+(
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS employee
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(255),
+    age        INTEGER,
+    gender     VARCHAR(255),
+    salary     INTEGER,
+    company_id BIGINT,
+    CONSTRAINT fk_employee_company FOREIGN KEY (company_id) REFERENCES company (id)
+);
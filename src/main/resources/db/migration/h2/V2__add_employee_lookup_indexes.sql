@@ -0,0 +1,2 @@
+CREATE INDEX idx_employee_company_id ON employee (company_id, id);
+CREATE INDEX idx_employee_gender ON employee (gender, id);
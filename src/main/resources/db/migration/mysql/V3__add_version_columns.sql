@@ -0,0 +1,2 @@
+ALTER TABLE company ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE employee ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
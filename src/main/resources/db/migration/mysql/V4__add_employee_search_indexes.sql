@@ -0,0 +1,3 @@
+CREATE INDEX idx_employee_company_gender_salary ON employee (company_id, gender, salary, id);
+CREATE INDEX idx_employee_gender_age ON employee (gender, age, id);
+CREATE INDEX idx_employee_salary ON employee (salary, id);
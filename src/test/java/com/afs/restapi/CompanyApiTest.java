@@ -5,19 +5,28 @@ import com.afs.restapi.entity.Employee;
 import com.afs.restapi.repository.CompanyJPARepository;
 import com.afs.restapi.repository.EmployeeJPARepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static com.afs.restapi.RequestMetricsMatchers.queryCount;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -34,6 +43,9 @@ class CompanyApiTest {
     @Autowired
     private EmployeeJPARepository employeeJPARepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @BeforeEach
     void setUp() {
         employeeJPARepository.deleteAll();
@@ -115,6 +127,95 @@ class CompanyApiTest {
         ;
     }
 
+    @Test
+    void should_load_a_page_of_100_companies_with_employees_in_a_fixed_number_of_statements() throws Exception {
+        List<Company> companies = companyJPARepository.saveAll(IntStream.range(0, 100)
+                .mapToObj(index -> new Company(null, "company" + index))
+                .collect(Collectors.toList()));
+        employeeJPARepository.saveAll(companies.stream()
+                .map(CompanyApiTest::getEmployee)
+                .collect(Collectors.toList()));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/companies")
+                        .param("pageNumber", "1")
+                        .param("pageSize", "100"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(queryCount(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(100))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[99].employees.length()").value(1));
+
+        // page select, count select and one batched select for all employees
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void should_load_all_companies_with_employees_in_one_statement() throws Exception {
+        Company company = companyJPARepository.save(getCompany1());
+        employeeJPARepository.save(getEmployee(company));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/companies"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(queryCount(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].employees.length()").value(1));
+
+        // company and employee version summaries for the ETag, then one fetch-join select
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void should_find_company_summaries_without_employees_by_page() throws Exception {
+        Company company1 = companyJPARepository.save(getCompany1());
+        Company company2 = companyJPARepository.save(getCompany2());
+        employeeJPARepository.save(getEmployee(company1));
+        companyJPARepository.save(getCompany3());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/companies")
+                        .param("pageNumber", "1")
+                        .param("pageSize", "2")
+                        .param("includeEmployees", "false"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(queryCount(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(company1.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value(company1.getName()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].employees").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].id").value(company2.getId()));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void should_find_companies_by_cursor() throws Exception {
+        Company company1 = companyJPARepository.save(getCompany1());
+        Company company2 = companyJPARepository.save(getCompany2());
+        Company company3 = companyJPARepository.save(getCompany3());
+
+        String firstPage = mockMvc.perform(get("/companies")
+                        .param("limit", "2"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(company1.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[1].id").value(company2.getId()))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = new ObjectMapper().readTree(firstPage).get("nextCursor").asText();
+
+        mockMvc.perform(get("/companies")
+                        .param("after", nextCursor)
+                        .param("limit", "2"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(company3.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].name").value(company3.getName()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").doesNotExist());
+    }
+
     @Test
     void should_find_company_by_id() throws Exception {
         Company company = companyJPARepository.save(getCompany1());
@@ -132,6 +233,57 @@ class CompanyApiTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.employees[0].salary").value(employee.getSalary()));
     }
 
+    @Test
+    void should_find_new_employee_in_company_when_company_was_cached_before_employee_created() throws Exception {
+        Company company = companyJPARepository.save(getCompany1());
+        employeeJPARepository.save(getEmployee(company));
+        mockMvc.perform(get("/companies/{id}", company.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.employees.length()").value(1));
+
+        mockMvc.perform(post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(getEmployee(company))))
+                .andExpect(MockMvcResultMatchers.status().is(201));
+
+        mockMvc.perform(get("/companies/{id}", company.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.employees.length()").value(2));
+    }
+
+    @Test
+    void should_find_batch_inserted_employee_in_company_when_company_was_cached_before_batch_insert() throws Exception {
+        Company company = companyJPARepository.save(getCompany1());
+        employeeJPARepository.save(getEmployee(company));
+        mockMvc.perform(get("/companies/{id}", company.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.employees.length()").value(1));
+
+        mockMvc.perform(post("/employees/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(List.of(getEmployee(company)))))
+                .andExpect(MockMvcResultMatchers.status().is(201));
+
+        mockMvc.perform(get("/companies/{id}", company.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.employees.length()").value(2));
+        mockMvc.perform(get("/companies/{companyId}/employees", company.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void should_not_find_cached_employee_when_its_company_was_deleted() throws Exception {
+        Company company = companyJPARepository.save(getCompany1());
+        Employee employee = employeeJPARepository.save(getEmployee(company));
+        mockMvc.perform(get("/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(200));
+
+        mockMvc.perform(delete("/companies/{id}", company.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(204));
+
+        mockMvc.perform(get("/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(404));
+    }
+
     @Test
     void should_find_employees_by_companies() throws Exception {
         Company company = companyJPARepository.save(getCompany1());
@@ -147,6 +299,147 @@ class CompanyApiTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].salary").value(employee.getSalary()));
     }
 
+    @Test
+    void should_return_company_stats_without_loading_employees() throws Exception {
+        Company company = companyJPARepository.save(getCompany1());
+        employeeJPARepository.save(getEmployee(company));
+        Employee olderEmployee = getEmployee(company);
+        olderEmployee.setAge(40);
+        olderEmployee.setSalary(30000);
+        employeeJPARepository.save(olderEmployee);
+
+        mockMvc.perform(get("/companies/{id}/stats", company.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.group").value(String.valueOf(company.getId())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.count").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.salary.sum").value(40000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.salary.avg").value(20000.0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.salary.p50").value(10000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.salary.p99").value(30000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.age.min").value(22))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.age.max").value(40));
+    }
+
+    @Test
+    void should_return_empty_stats_when_company_has_no_employees() throws Exception {
+        Company company = companyJPARepository.save(getCompany1());
+
+        mockMvc.perform(get("/companies/{id}/stats", company.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.count").value(0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.salary.avg").doesNotExist());
+    }
+
+    @Test
+    void should_return_404_when_get_stats_given_not_exist_company() throws Exception {
+        mockMvc.perform(get("/companies/{id}/stats", 99L))
+                .andExpect(MockMvcResultMatchers.status().is(404));
+    }
+
+    @Test
+    void should_delete_company_and_all_its_employees_in_two_statements() throws Exception {
+        Company company = companyJPARepository.save(getCompany1());
+        employeeJPARepository.saveAll(IntStream.range(0, 50)
+                .mapToObj(index -> getEmployee(company))
+                .collect(Collectors.toList()));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(delete("/companies/{id}", company.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(204))
+                .andExpect(queryCount(2));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertTrue(companyJPARepository.findById(company.getId()).isEmpty());
+        assertEquals(0, employeeJPARepository.count());
+    }
+
+    @Test
+    void should_return_404_when_delete_given_not_exist_company() throws Exception {
+        mockMvc.perform(delete("/companies/{id}", 99L))
+                .andExpect(MockMvcResultMatchers.status().is(404));
+    }
+
+    @Test
+    void should_patch_company_name() throws Exception {
+        Company company = companyJPARepository.save(getCompany1());
+
+        mockMvc.perform(patch("/companies/{id}", company.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"xyz\"}"))
+                .andExpect(MockMvcResultMatchers.status().is(204));
+
+        assertEquals("xyz", companyJPARepository.findById(company.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void should_return_404_when_patch_given_not_exist_company() throws Exception {
+        mockMvc.perform(patch("/companies/{id}", 99L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"xyz\"}"))
+                .andExpect(MockMvcResultMatchers.status().is(404));
+    }
+
+    @Test
+    void should_return_304_when_get_company_given_matching_etag() throws Exception {
+        Company company = companyJPARepository.save(getCompany1());
+        String eTag = mockMvc.perform(get("/companies/{id}", company.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/companies/{id}", company.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(MockMvcResultMatchers.status().is(304))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
+    @Test
+    void should_change_company_etag_when_employee_joins_company() throws Exception {
+        Company company = companyJPARepository.save(getCompany1());
+        String eTag = mockMvc.perform(get("/companies/{id}", company.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(getEmployee(company))))
+                .andExpect(MockMvcResultMatchers.status().is(201));
+
+        mockMvc.perform(get("/companies/{id}", company.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.employees.length()").value(1));
+    }
+
+    @Test
+    void should_return_same_etag_from_update_as_from_get_given_company_with_employee() throws Exception {
+        Company company = companyJPARepository.save(getCompany1());
+        employeeJPARepository.save(getEmployee(company));
+
+        String eTag = mockMvc.perform(put("/companies/{id}", company.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"xyz\"}"))
+                .andExpect(MockMvcResultMatchers.status().is(204))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/companies/{id}", company.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(MockMvcResultMatchers.status().is(304));
+    }
+
+    @Test
+    void should_return_412_when_update_company_given_stale_if_match() throws Exception {
+        Company company = companyJPARepository.save(getCompany1());
+
+        mockMvc.perform(put("/companies/{id}", company.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"" + (company.getVersion() + 1) + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"xyz\"}"))
+                .andExpect(MockMvcResultMatchers.status().is(412));
+
+        assertEquals("ABC", companyJPARepository.findById(company.getId()).orElseThrow().getName());
+    }
+
     private static Employee getEmployee(Company company) {
         Employee employee = new Employee();
         employee.setName("Bob");
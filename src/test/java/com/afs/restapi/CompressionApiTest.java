@@ -0,0 +1,63 @@
+package com.afs.restapi;
+
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.repository.EmployeeJPARepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CompressionApiTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private EmployeeJPARepository employeeJPARepository;
+
+    @BeforeEach
+    void setUp() {
+        employeeJPARepository.deleteAll();
+    }
+
+    @Test
+    void should_gzip_employee_list_when_response_is_above_threshold() {
+        employeeJPARepository.saveAll(IntStream.range(0, 100)
+                .mapToObj(index -> new Employee(null, "employee" + index, 30, "Female", 10000 + index))
+                .collect(Collectors.toList()));
+
+        ResponseEntity<byte[]> response = exchange("/employees", MediaType.APPLICATION_JSON);
+
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void should_not_compress_when_response_is_below_threshold() {
+        Employee employee = employeeJPARepository.save(new Employee(null, "Bob", 22, "Male", 10000));
+
+        ResponseEntity<byte[]> response = exchange("/employees/" + employee.getId(), MediaType.APPLICATION_JSON);
+
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    private ResponseEntity<byte[]> exchange(String path, MediaType accept) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(accept));
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+    }
+}
@@ -0,0 +1,76 @@
+package com.afs.restapi;
+
+import com.afs.restapi.config.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = {
+        "concurrency-limit.enabled=true",
+        "concurrency-limit.read.initial-limit=1",
+        "concurrency-limit.read.min-limit=1",
+        "concurrency-limit.read.max-limit=1",
+        "concurrency-limit.write.initial-limit=1",
+        "concurrency-limit.write.min-limit=1",
+        "concurrency-limit.write.max-limit=1",
+        "concurrency-limit.retry-after=2s"
+})
+@AutoConfigureMockMvc
+class ConcurrencyLimitApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("readConcurrencyLimiter")
+    private AdaptiveConcurrencyLimiter readConcurrencyLimiter;
+
+    @Autowired
+    @Qualifier("writeConcurrencyLimiter")
+    private AdaptiveConcurrencyLimiter writeConcurrencyLimiter;
+
+    @Test
+    void should_reject_writes_with_retry_after_and_keep_serving_reads_when_write_budget_exhausted() throws Exception {
+        assertTrue(writeConcurrencyLimiter.tryAcquire());
+        try {
+            mockMvc.perform(post("/employees")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"name\":\"Lucy\",\"age\":20,\"gender\":\"Female\",\"salary\":3000}"))
+                    .andExpect(MockMvcResultMatchers.status().is(503))
+                    .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "2"))
+                    .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("server is busy, retry later"));
+            mockMvc.perform(get("/companies"))
+                    .andExpect(MockMvcResultMatchers.status().is(200));
+        } finally {
+            writeConcurrencyLimiter.release(System.nanoTime(), false);
+        }
+
+        mockMvc.perform(post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Lucy\",\"age\":20,\"gender\":\"Female\",\"salary\":3000}"))
+                .andExpect(MockMvcResultMatchers.status().is(201));
+    }
+
+    @Test
+    void should_not_limit_streaming_export_when_read_budget_exhausted() throws Exception {
+        assertTrue(readConcurrencyLimiter.tryAcquire());
+        try {
+            mockMvc.perform(get("/employees/export"))
+                    .andExpect(MockMvcResultMatchers.status().is(200));
+            mockMvc.perform(get("/employees"))
+                    .andExpect(MockMvcResultMatchers.status().is(503));
+        } finally {
+            readConcurrencyLimiter.release(System.nanoTime(), false);
+        }
+    }
+}
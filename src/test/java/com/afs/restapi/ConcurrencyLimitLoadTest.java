@@ -0,0 +1,143 @@
+package com.afs.restapi;
+
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.repository.EmployeeJPARepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "concurrency-limit.enabled=true",
+        "concurrency-limit.read.initial-limit=50",
+        "concurrency-limit.read.min-limit=2",
+        "concurrency-limit.read.max-limit=200",
+        "concurrency-limit.latency-threshold=100ms"
+})
+class ConcurrencyLimitLoadTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrencyLimitLoadTest.class);
+
+    private static final long QUERY_DELAY_MILLIS = 20;
+    private static final int CLIENTS = 200;
+    private static final Duration RUN_TIME = Duration.ofSeconds(10);
+    private static final Duration MAX_P99 = Duration.ofMillis(400);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeeJPARepository employeeJPARepository;
+
+    @TestConfiguration
+    static class ThrottledDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor throttledDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource) || bean instanceof ThrottledDataSource) {
+                        return bean;
+                    }
+                    return new ThrottledDataSource((DataSource) bean);
+                }
+            };
+        }
+    }
+
+    static class ThrottledDataSource extends DelegatingDataSource {
+
+        ThrottledDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            try {
+                Thread.sleep(QUERY_DELAY_MILLIS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return connection;
+        }
+    }
+
+    @Test
+    void should_keep_p99_latency_bounded_and_shed_excess_load_when_database_is_throttled() throws Exception {
+        Employee employee = employeeJPARepository.save(new Employee(null, "Lucy", 20, "Female", 3000));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newFixedThreadPool(CLIENTS))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/employees/" + employee.getId()))
+                .GET()
+                .build();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        long deadline = System.nanoTime() + RUN_TIME.toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        for (int index = 0; index < CLIENTS; index++) {
+            clients.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() == 200) {
+                            latencies.add(System.nanoTime() - start);
+                        } else if (response.statusCode() == 503 && response.headers().firstValue("Retry-After").isPresent()) {
+                            rejected.incrementAndGet();
+                            Thread.sleep(5);
+                        } else {
+                            failed.incrementAndGet();
+                        }
+                    } catch (Exception exception) {
+                        failed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        assertTrue(clients.awaitTermination(RUN_TIME.toSeconds() + 30, TimeUnit.SECONDS));
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        long p99 = sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1);
+        LOGGER.info("completed={} rejected={} failed={} p50={}ms p99={}ms", sorted.size(), rejected.get(),
+                failed.get(), TimeUnit.NANOSECONDS.toMillis(sorted.get(sorted.size() / 2)), TimeUnit.NANOSECONDS.toMillis(p99));
+        assertEquals(0, failed.get());
+        assertTrue(rejected.get() > 0);
+        assertTrue(p99 <= MAX_P99.toNanos(), "p99 was " + TimeUnit.NANOSECONDS.toMillis(p99) + "ms");
+    }
+}
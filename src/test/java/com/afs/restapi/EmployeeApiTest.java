@@ -1,20 +1,48 @@
 package com.afs.restapi;
 
+import com.afs.restapi.entity.Company;
 import com.afs.restapi.entity.Employee;
+import com.afs.restapi.repository.CompanyJPARepository;
 import com.afs.restapi.repository.EmployeeJPARepository;
+import com.afs.restapi.service.EmployeeNameIndex;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.CompositeQueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import static com.afs.restapi.EmployeeFixtures.withCompany;
+import static com.afs.restapi.RequestMetricsMatchers.queryCount;
+import static com.afs.restapi.RequestMetricsMatchers.rowCount;
+import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
@@ -28,6 +56,21 @@ class EmployeeApiTest {
     @Autowired
     private EmployeeJPARepository employeeJPARepository;
 
+    @Autowired
+    private CompanyJPARepository companyJPARepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EmployeeNameIndex employeeNameIndex;
+
     @BeforeEach
     void setUp() {
         employeeJPARepository.deleteAll();
@@ -72,6 +115,29 @@ class EmployeeApiTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.salary").value(employee.getSalary()));
     }
 
+    @Test
+    void should_create_valid_employees_and_report_invalid_ones_when_create_employees_in_batch() throws Exception {
+        Employee employeeTooYoung = getEmployeeSusan();
+        employeeTooYoung.setAge(17);
+        List<Employee> employees = List.of(getEmployeeBob(), employeeTooYoung, getEmployeeLily());
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        mockMvc.perform(post("/employees/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employees)))
+                .andExpect(MockMvcResultMatchers.status().is(201))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.created.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.created[0].id").isNumber())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.created[0].name").value("Bob"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.created[1].id").isNumber())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.created[1].name").value("Lily"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.failures.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.failures[0].index").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.failures[0].message").value("Employee must be 18~65 years old"));
+
+        assertEquals(2, employeeJPARepository.count());
+    }
+
     @Test
     void should_find_employees() throws Exception {
         Employee employee = employeeJPARepository.save(getEmployeeBob());
@@ -86,6 +152,20 @@ class EmployeeApiTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].salary").value(employee.getSalary()));
     }
 
+    @Test
+    void should_report_statements_and_rows_in_server_timing_when_find_employees() throws Exception {
+        employeeJPARepository.save(getEmployeeBob());
+        employeeJPARepository.save(getEmployeeSusan());
+
+        mockMvc.perform(get("/employees"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(queryCount(2))
+                .andExpect(rowCount(3))
+                .andExpect(MockMvcResultMatchers.header().string("Server-Timing", containsString("desc=\"queries=2 rows=3\"")))
+                .andExpect(MockMvcResultMatchers.header().string("Server-Timing", containsString("ser;dur=")))
+                .andExpect(MockMvcResultMatchers.header().string("Server-Timing", containsString("ttfb;dur=")));
+    }
+
     @Test
     void should_find_employee_by_id() throws Exception {
         Employee employee = employeeJPARepository.save(getEmployeeBob());
@@ -99,6 +179,24 @@ class EmployeeApiTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.salary").value(employee.getSalary()));
     }
 
+    @Test
+    void should_find_updated_employee_by_id_when_employee_was_cached_before_update() throws Exception {
+        Employee employee = employeeJPARepository.save(getEmployeeBob());
+        mockMvc.perform(get("/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.salary").value(employee.getSalary()));
+
+        Employee employeeUpdateRequest = new Employee(null, null, 30, null, 20000);
+        mockMvc.perform(put("/employees/{id}", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(employeeUpdateRequest)))
+                .andExpect(MockMvcResultMatchers.status().is(204));
+
+        mockMvc.perform(get("/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.age").value(30))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.salary").value(20000));
+    }
+
     @Test
     void should_delete_employee_by_id() throws Exception {
         Employee employee = employeeJPARepository.save(getEmployeeBob());
@@ -123,6 +221,50 @@ class EmployeeApiTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].salary").value(employee.getSalary()));
     }
 
+    @Test
+    void should_serve_repeated_gender_query_from_second_level_cache() throws Exception {
+        employeeJPARepository.save(getEmployeeBob());
+        mockMvc.perform(get("/employees?gender={0}", "Male"))
+                .andExpect(MockMvcResultMatchers.status().is(200));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/employees?gender={0}", "Male"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value("Bob"))
+                .andExpect(queryCount(0));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void should_find_batch_inserted_employee_when_gender_query_was_cached_before_batch_insert() throws Exception {
+        employeeJPARepository.save(getEmployeeSusan());
+        mockMvc.perform(get("/employees?gender={0}", "Female"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1));
+
+        mockMvc.perform(post("/employees/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(List.of(getEmployeeLily()))))
+                .andExpect(MockMvcResultMatchers.status().is(201));
+
+        mockMvc.perform(get("/employees?gender={0}", "Female"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void should_insert_employees_in_batch_when_called_outside_a_transaction() throws Exception {
+        List<Employee> employees = employeeJPARepository.insertAll(List.of(getEmployeeSusan(), getEmployeeLily()));
+
+        assertTrue(employees.stream().allMatch(employee -> employee.getId() != null));
+        mockMvc.perform(get("/employees/{id}", employees.get(1).getId()))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.name").value(getEmployeeLily().getName()));
+    }
+
     @Test
     void should_find_employees_by_page() throws Exception {
         Employee employeeZhangsan = employeeJPARepository.save(getEmployeeBob());
@@ -146,6 +288,522 @@ class EmployeeApiTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$[1].salary").value(employeeSusan.getSalary()));
     }
 
+    @Test
+    void should_find_employees_by_cursor() throws Exception {
+        Employee employeeBob = employeeJPARepository.save(getEmployeeBob());
+        Employee employeeSusan = employeeJPARepository.save(getEmployeeSusan());
+        Employee employeeLily = employeeJPARepository.save(getEmployeeLily());
+
+        String firstPage = mockMvc.perform(get("/employees")
+                        .param("limit", "2"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(employeeBob.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[1].id").value(employeeSusan.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = new ObjectMapper().readTree(firstPage).get("nextCursor").asText();
+
+        mockMvc.perform(get("/employees")
+                        .param("after", nextCursor)
+                        .param("limit", "2"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(employeeLily.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].name").value(employeeLily.getName()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void should_return_bad_request_when_find_employees_by_cursor_given_invalid_cursor() throws Exception {
+        mockMvc.perform(get("/employees")
+                        .param("after", "not-a-cursor")
+                        .param("limit", "2"))
+                .andExpect(MockMvcResultMatchers.status().is(400))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("cursor is invalid"));
+    }
+
+    @Test
+    void should_find_employees_by_name_fragment_and_prefix_from_name_index() throws Exception {
+        Employee roberta = employeeJPARepository.save(new Employee(null, "Roberta", 30, "Female", 5000));
+        Employee bob = employeeJPARepository.save(new Employee(null, "Bob", 30, "Male", 5000));
+        Employee rosa = employeeJPARepository.save(new Employee(null, "Rosa", 30, "Female", 5000));
+        employeeNameIndex.rebuild();
+
+        mockMvc.perform(get("/employees").param("nameContains", "OBE"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(roberta.getId()));
+        mockMvc.perform(get("/employees").param("nameContains", "ob"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(roberta.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].id").value(bob.getId()));
+        mockMvc.perform(get("/employees").param("namePrefix", "ro").param("limit", "10"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(roberta.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].id").value(rosa.getId()));
+    }
+
+    @Test
+    void should_find_employees_by_single_letter_from_name_index_in_id_order() throws Exception {
+        Employee anna = employeeJPARepository.save(new Employee(null, "Anna", 30, "Female", 5000));
+        employeeJPARepository.save(new Employee(null, "Bob", 30, "Male", 5000));
+        Employee clara = employeeJPARepository.save(new Employee(null, "Clara", 30, "Female", 5000));
+        employeeJPARepository.save(new Employee(null, "Dan", 30, "Male", 5000));
+        employeeNameIndex.rebuild();
+
+        mockMvc.perform(get("/employees").param("nameContains", "A").param("limit", "2"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(anna.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].id").value(clara.getId()));
+        mockMvc.perform(get("/employees").param("nameContains", "x"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void should_keep_name_index_in_sync_with_create_patch_and_delete() throws Exception {
+        employeeNameIndex.rebuild();
+        String createdEmployee = mockMvc.perform(post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(new Employee(null, "Zelda", 30, "Female", 5000))))
+                .andExpect(MockMvcResultMatchers.status().is(201))
+                .andReturn().getResponse().getContentAsString();
+        long id = new ObjectMapper().readTree(createdEmployee).get("id").asLong();
+        mockMvc.perform(get("/employees").param("nameContains", "eld"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1));
+
+        mockMvc.perform(patch("/employees/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Link\"}"))
+                .andExpect(MockMvcResultMatchers.status().is(204));
+        mockMvc.perform(get("/employees").param("nameContains", "eld"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/employees").param("namePrefix", "lin"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1));
+
+        mockMvc.perform(delete("/employees/{id}", id))
+                .andExpect(MockMvcResultMatchers.status().is(204));
+        mockMvc.perform(get("/employees").param("namePrefix", "lin"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void should_drop_employees_of_deleted_company_from_name_index() throws Exception {
+        Company deletedCompany = companyJPARepository.save(new Company(null, "OOCL"));
+        Company company = companyJPARepository.save(new Company(null, "COSCO"));
+        employeeJPARepository.save(withCompany(new Employee(null, "Zora", 30, "Female", 5000), deletedCompany.getId()));
+        Employee zoe = employeeJPARepository.save(withCompany(new Employee(null, "Zoe", 30, "Female", 5000), company.getId()));
+        employeeNameIndex.rebuild();
+
+        mockMvc.perform(delete("/companies/{id}", deletedCompany.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(204));
+
+        mockMvc.perform(get("/employees").param("nameContains", "zor"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/employees").param("namePrefix", "zo").param("limit", "1"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(zoe.getId()));
+    }
+
+    @Test
+    void should_drop_renamed_employees_of_deleted_company_from_name_index_given_employee_had_no_name() throws Exception {
+        Company company = companyJPARepository.save(new Company(null, "OOCL"));
+        Employee employee = employeeJPARepository.save(withCompany(new Employee(null, null, 30, "Female", 5000), company.getId()));
+        employeeNameIndex.rebuild();
+
+        mockMvc.perform(patch("/employees/{id}", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Zora\"}"))
+                .andExpect(MockMvcResultMatchers.status().is(204));
+        mockMvc.perform(get("/employees").param("nameContains", "zor"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1));
+
+        mockMvc.perform(delete("/companies/{id}", company.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(204));
+        assertEquals(Optional.of(List.of()), employeeNameIndex.findIdsContaining("zor", 10));
+    }
+
+    @Test
+    void should_search_employees_by_ranges_sorted_by_salary_with_keyset_paging() throws Exception {
+        Company company = companyJPARepository.save(new Company(null, "OOCL"));
+        Employee dora = employeeJPARepository.save(withCompany(new Employee(null, "Dora", 33, "Female", 70000), company.getId()));
+        Employee alice = employeeJPARepository.save(withCompany(new Employee(null, "Alice", 30, "Female", 60000), company.getId()));
+        Employee carol = employeeJPARepository.save(withCompany(new Employee(null, "Carol", 28, "Female", 52000), company.getId()));
+        employeeJPARepository.save(withCompany(new Employee(null, "Eve", 40, "Female", 80000), company.getId()));
+        employeeJPARepository.save(withCompany(new Employee(null, "Fay", 26, "Female", 40000), company.getId()));
+        employeeJPARepository.save(withCompany(new Employee(null, "Bob", 30, "Male", 90000), company.getId()));
+        employeeJPARepository.save(new Employee(null, "Gina", 30, "Female", 65000));
+
+        String firstPage = mockMvc.perform(get("/employees/search")
+                        .param("gender", "Female")
+                        .param("companyId", String.valueOf(company.getId()))
+                        .param("minAge", "25")
+                        .param("maxAge", "35")
+                        .param("minSalary", "50001")
+                        .param("sort", "-salary")
+                        .param("limit", "2"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(dora.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[1].id").value(alice.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = new ObjectMapper().readTree(firstPage).get("nextCursor").asText();
+
+        mockMvc.perform(get("/employees/search")
+                        .param("gender", "Female")
+                        .param("companyId", String.valueOf(company.getId()))
+                        .param("minAge", "25")
+                        .param("maxAge", "35")
+                        .param("minSalary", "50001")
+                        .param("sort", "-salary")
+                        .param("limit", "2")
+                        .param("after", nextCursor))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(carol.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void should_search_employees_sorted_by_multiple_fields() throws Exception {
+        Employee lucy = employeeJPARepository.save(new Employee(null, "Lucy", 30, "Female", 5000));
+        Employee tom = employeeJPARepository.save(new Employee(null, "Tom", 25, "Male", 5000));
+        Employee amy = employeeJPARepository.save(new Employee(null, "Amy", 40, "Female", 9000));
+
+        mockMvc.perform(get("/employees/search").param("sort", "salary,-age"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(lucy.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[1].id").value(tom.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[2].id").value(amy.getId()));
+    }
+
+    @Test
+    void should_return_employees_without_salary_last_when_search_employees_sorted_by_salary() throws Exception {
+        Employee lucy = employeeJPARepository.save(new Employee(null, "Lucy", 30, "Female", 5000));
+        Employee tom = employeeJPARepository.save(new Employee(null, "Tom", 25, "Male", null));
+        Employee amy = employeeJPARepository.save(new Employee(null, "Amy", 40, "Female", 9000));
+
+        String firstPage = mockMvc.perform(get("/employees/search").param("sort", "salary").param("limit", "2"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(lucy.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[1].id").value(amy.getId()))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = new ObjectMapper().readTree(firstPage).get("nextCursor").asText();
+        mockMvc.perform(get("/employees/search").param("sort", "salary").param("limit", "2").param("after", nextCursor))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(tom.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor").doesNotExist());
+
+        String descendingPage = mockMvc.perform(get("/employees/search").param("sort", "-salary").param("limit", "2"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(amy.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[1].id").value(lucy.getId()))
+                .andReturn().getResponse().getContentAsString();
+        String descendingCursor = new ObjectMapper().readTree(descendingPage).get("nextCursor").asText();
+        mockMvc.perform(get("/employees/search").param("sort", "-salary").param("limit", "2").param("after", descendingCursor))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(tom.getId()));
+    }
+
+    @Test
+    void should_return_400_when_search_employees_given_unsupported_sort() throws Exception {
+        mockMvc.perform(get("/employees/search").param("sort", "name"))
+                .andExpect(MockMvcResultMatchers.status().is(400))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("sort must be age, salary or id, optionally prefixed with -"));
+    }
+
+    @Test
+    void should_use_composite_indexes_for_search_query_plans() throws Exception {
+        Company company = companyJPARepository.save(new Company(null, "OOCL"));
+        employeeJPARepository.saveAll(IntStream.range(0, 1000)
+                .mapToObj(index -> withCompany(new Employee(null, "employee" + index, 18 + index % 48,
+                        index % 2 == 0 ? "Female" : "Male", 3000 + index * 100), index % 10 == 0 ? company.getId() : null))
+                .collect(Collectors.toList()));
+        jdbcTemplate.execute("ANALYZE");
+
+        String companyPlan = explainSearch(get("/employees/search")
+                .param("companyId", String.valueOf(company.getId()))
+                .param("gender", "Female")
+                .param("minAge", "25")
+                .param("maxAge", "35")
+                .param("minSalary", "50001")
+                .param("sort", "-salary"));
+        String genderPlan = explainSearch(get("/employees/search")
+                .param("gender", "Female")
+                .param("minAge", "25")
+                .param("maxAge", "35")
+                .param("sort", "age"));
+
+        assertTrue(companyPlan.toUpperCase().contains("IDX_EMPLOYEE_COMPANY_GENDER_SALARY"), companyPlan);
+        assertTrue(genderPlan.toUpperCase().contains("IDX_EMPLOYEE_GENDER_AGE"), genderPlan);
+    }
+
+    @Test
+    void should_not_load_exported_employees_into_second_level_cache() throws Exception {
+        Employee employeeBob = employeeJPARepository.save(getEmployeeBob());
+        entityManagerFactory.getCache().evictAll();
+
+        MvcResult mvcResult = mockMvc.perform(get("/employees/export"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().is(200));
+
+        assertFalse(entityManagerFactory.getCache().contains(Employee.class, employeeBob.getId()));
+    }
+
+    @Test
+    void should_export_employees_as_ndjson() throws Exception {
+        Employee employeeBob = employeeJPARepository.save(getEmployeeBob());
+        Employee employeeSusan = employeeJPARepository.save(getEmployeeSusan());
+
+        MvcResult mvcResult = mockMvc.perform(get("/employees/export")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        String[] lines = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString().split("\n");
+        ObjectMapper objectMapper = new ObjectMapper();
+        assertEquals(2, lines.length);
+        assertEquals(employeeBob.getId(), objectMapper.readValue(lines[0], Employee.class).getId());
+        assertEquals(employeeSusan.getId(), objectMapper.readValue(lines[1], Employee.class).getId());
+        assertEquals(employeeSusan.getName(), objectMapper.readValue(lines[1], Employee.class).getName());
+    }
+
+    @Test
+    void should_export_employees_as_json_array() throws Exception {
+        Employee employeeBob = employeeJPARepository.save(getEmployeeBob());
+        Employee employeeSusan = employeeJPARepository.save(getEmployeeSusan());
+
+        MvcResult mvcResult = mockMvc.perform(get("/employees/export")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(employeeBob.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value(employeeBob.getName()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].id").value(employeeSusan.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].name").value(employeeSusan.getName()));
+    }
+
+    @Test
+    void should_return_salary_and_age_stats_grouped_by_gender() throws Exception {
+        employeeJPARepository.save(getEmployeeBob());
+        employeeJPARepository.save(getEmployeeSusan());
+        employeeJPARepository.save(getEmployeeLily());
+
+        mockMvc.perform(get("/employees/stats").param("groupBy", "gender"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].group").value("Female"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].count").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].salary.sum").value(23000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].salary.avg").value(11500.0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].salary.min").value(11000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].salary.max").value(12000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].salary.p50").value(11000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].salary.p90").value(12000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].age.avg").value(23.5))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].group").value("Male"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].count").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].salary.p99").value(10000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].age.max").value(22));
+    }
+
+    @Test
+    void should_return_400_when_get_stats_given_unsupported_group_by() throws Exception {
+        mockMvc.perform(get("/employees/stats").param("groupBy", "salary"))
+                .andExpect(MockMvcResultMatchers.status().is(400))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("groupBy must be gender or companyId"));
+    }
+
+    @Test
+    void should_delete_employees_by_ids_in_one_statement() throws Exception {
+        Employee employeeBob = employeeJPARepository.save(getEmployeeBob());
+        Employee employeeSusan = employeeJPARepository.save(getEmployeeSusan());
+        Employee employeeLily = employeeJPARepository.save(getEmployeeLily());
+        mockMvc.perform(get("/employees/{id}", employeeBob.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(200));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(delete("/employees")
+                        .param("ids", employeeBob.getId() + "," + employeeSusan.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(204))
+                .andExpect(queryCount(1));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of(employeeLily.getId()), employeeJPARepository.findAll().stream()
+                .map(Employee::getId)
+                .collect(Collectors.toList()));
+        mockMvc.perform(get("/employees/{id}", employeeBob.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(404));
+    }
+
+    @Test
+    void should_patch_only_given_fields_in_one_statement() throws Exception {
+        Employee employee = employeeJPARepository.save(getEmployeeBob());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(patch("/employees/{id}", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"salary\":15000}"))
+                .andExpect(MockMvcResultMatchers.status().is(204))
+                .andExpect(queryCount(1));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        Employee patchedEmployee = employeeJPARepository.findById(employee.getId()).orElseThrow();
+        assertEquals(15000, patchedEmployee.getSalary());
+        assertEquals(employee.getName(), patchedEmployee.getName());
+        assertEquals(employee.getAge(), patchedEmployee.getAge());
+        assertEquals(employee.getGender(), patchedEmployee.getGender());
+    }
+
+    @Test
+    void should_return_404_when_patch_given_not_exist_employee() throws Exception {
+        mockMvc.perform(patch("/employees/{id}", 99L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"salary\":15000}"))
+                .andExpect(MockMvcResultMatchers.status().is(404));
+    }
+
+    @Test
+    void should_return_304_without_loading_employee_when_get_employee_given_matching_etag() throws Exception {
+        Employee employee = employeeJPARepository.save(getEmployeeBob());
+        String eTag = mockMvc.perform(get("/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/employees/{id}", employee.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(MockMvcResultMatchers.status().is(304))
+                .andExpect(queryCount(1))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void should_update_employee_and_return_new_etag_when_put_given_current_if_match() throws Exception {
+        Employee employee = employeeJPARepository.save(getEmployeeBob());
+
+        mockMvc.perform(put("/employees/{id}", employee.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"salary\":15000}"))
+                .andExpect(MockMvcResultMatchers.status().is(204))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(get("/employees/{id}", employee.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.salary").value(15000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.version").value(1));
+    }
+
+    @Test
+    void should_return_412_when_put_given_stale_if_match() throws Exception {
+        Employee employee = employeeJPARepository.save(getEmployeeBob());
+        mockMvc.perform(patch("/employees/{id}", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"salary\":15000}"))
+                .andExpect(MockMvcResultMatchers.status().is(204));
+
+        mockMvc.perform(put("/employees/{id}", employee.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"salary\":20000}"))
+                .andExpect(MockMvcResultMatchers.status().is(412))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message").value("resource was modified by another request"));
+
+        assertEquals(15000, employeeJPARepository.findById(employee.getId()).orElseThrow().getSalary());
+    }
+
+    @Test
+    void should_return_304_when_get_all_employees_given_unchanged_weak_etag() throws Exception {
+        employeeJPARepository.save(getEmployeeBob());
+        String eTag = mockMvc.perform(get("/employees"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertTrue(eTag.startsWith("W/"));
+
+        mockMvc.perform(get("/employees").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(MockMvcResultMatchers.status().is(304));
+
+        employeeJPARepository.save(getEmployeeSusan());
+        mockMvc.perform(get("/employees").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void should_return_employees_as_cbor_when_accept_cbor() throws Exception {
+        Employee employeeBob = employeeJPARepository.save(getEmployeeBob());
+        employeeJPARepository.save(getEmployeeSusan());
+
+        byte[] body = mockMvc.perform(get("/employees").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Employee[] employees = new ObjectMapper(new CBORFactory()).readValue(body, Employee[].class);
+        assertEquals(2, employees.length);
+        assertEquals(employeeBob.getId(), employees[0].getId());
+        assertEquals(employeeBob.getName(), employees[0].getName());
+    }
+
+    @Test
+    void should_return_employee_as_smile_when_accept_smile() throws Exception {
+        Employee employee = employeeJPARepository.save(getEmployeeBob());
+
+        byte[] body = mockMvc.perform(get("/employees/{id}", employee.getId()).accept("application/x-jackson-smile"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(employee.getSalary(), new ObjectMapper(new SmileFactory()).readValue(body, Employee.class).getSalary());
+    }
+
+    @Test
+    void should_return_error_as_cbor_when_accept_cbor_given_not_exist_employee() throws Exception {
+        byte[] body = mockMvc.perform(get("/employees/{id}", 99L).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(MockMvcResultMatchers.status().is(404))
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals("employee id not found", new ObjectMapper(new CBORFactory()).readTree(body).get("message").asText());
+    }
+
+    @Test
+    void should_return_json_when_accept_any() throws Exception {
+        employeeJPARepository.save(getEmployeeBob());
+
+        mockMvc.perform(get("/employees").accept(MediaType.ALL))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_JSON));
+    }
+
     private static Employee getEmployeeBob() {
         Employee employee = new Employee();
         employee.setName("Bob");
@@ -172,4 +830,35 @@ class EmployeeApiTest {
         employee.setSalary(12000);
         return employee;
     }
+
+    private String explainSearch(MockHttpServletRequestBuilder search) throws Exception {
+        List<QueryInfo> queries = new CopyOnWriteArrayList<>();
+        QueryExecutionListener listener = new QueryExecutionListener() {
+            @Override
+            public void beforeQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+            }
+
+            @Override
+            public void afterQuery(ExecutionInfo executionInfo, List<QueryInfo> queryInfoList) {
+                queries.addAll(queryInfoList);
+            }
+        };
+        CompositeQueryExecutionListener queryListener = ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener();
+        queryListener.addListener(listener);
+        try {
+            mockMvc.perform(search).andExpect(MockMvcResultMatchers.status().is(200));
+        } finally {
+            queryListener.removeListener(listener);
+        }
+        QueryInfo searchQuery = queries.stream()
+                .filter(query -> query.getQuery().toLowerCase().startsWith("select"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        Object[] parameters = searchQuery.getParametersList().isEmpty() ? new Object[0]
+                : searchQuery.getParametersList().get(0).stream()
+                .sorted(Comparator.comparingInt(operation -> (Integer) operation.getArgs()[0]))
+                .map(operation -> "setNull".equals(operation.getMethod().getName()) ? null : operation.getArgs()[1])
+                .toArray();
+        return jdbcTemplate.queryForObject("EXPLAIN " + searchQuery.getQuery(), String.class, parameters);
+    }
 }
\ No newline at end of file
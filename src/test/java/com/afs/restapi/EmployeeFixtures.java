@@ -0,0 +1,14 @@
+package com.afs.restapi;
+
+import com.afs.restapi.entity.Employee;
+
+public final class EmployeeFixtures {
+
+    private EmployeeFixtures() {
+    }
+
+    public static Employee withCompany(Employee employee, Long companyId) {
+        employee.setCompanyId(companyId);
+        return employee;
+    }
+}
@@ -0,0 +1,51 @@
+package com.afs.restapi;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@ActiveProfiles("fast-start")
+@AutoConfigureMockMvc
+class FastStartApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void should_serve_requests_and_record_first_request_time_when_lazy_initialization_enabled() throws Exception {
+        TimeGauge firstRequestTime = meterRegistry.get("application.first.request.time").timeGauge();
+
+        mockMvc.perform(get("/employees"))
+                .andExpect(MockMvcResultMatchers.status().is(200));
+        double recorded = firstRequestTime.value(TimeUnit.MILLISECONDS);
+        mockMvc.perform(get("/companies"))
+                .andExpect(MockMvcResultMatchers.status().is(200));
+
+        assertTrue(recorded > 0);
+        assertEquals(recorded, firstRequestTime.value(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void should_report_startup_steps_when_fast_start_profile_active() throws Exception {
+        mockMvc.perform(post("/actuator/startup"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.timeline.events").isNotEmpty());
+    }
+}
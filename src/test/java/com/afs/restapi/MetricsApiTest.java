@@ -0,0 +1,61 @@
+package com.afs.restapi;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItems;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class MetricsApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void should_expose_endpoint_service_pool_and_hibernate_metrics_for_prometheus() throws Exception {
+        mockMvc.perform(get("/employees"))
+                .andExpect(MockMvcResultMatchers.status().is(200));
+        mockMvc.perform(get("/companies"))
+                .andExpect(MockMvcResultMatchers.status().is(200));
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("uri=\"/employees\"")))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("uri=\"/companies\"")))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("service_method_seconds_bucket")))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("class=\"EmployeeService\"")))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("method=\"findAll\"")))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("hikaricp_connections_active")))
+                .andExpect(MockMvcResultMatchers.content().string(containsString("hibernate_statements_total")));
+    }
+
+    @Test
+    void should_expose_second_level_cache_region_and_query_stats() throws Exception {
+        mockMvc.perform(get("/employees?gender={0}", "Female"))
+                .andExpect(MockMvcResultMatchers.status().is(200));
+        mockMvc.perform(get("/employees?gender={0}", "Female"))
+                .andExpect(MockMvcResultMatchers.status().is(200));
+
+        mockMvc.perform(get("/actuator/hibernatecaches"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.regions[*].name", hasItems(
+                        "com.afs.restapi.entity.Employee",
+                        "com.afs.restapi.entity.Company",
+                        "com.afs.restapi.entity.Company.employees")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.queries.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.queries[0].hitCount").value(greaterThanOrEqualTo(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.queries[0].hitRatio").value(greaterThan(0.0)));
+    }
+}
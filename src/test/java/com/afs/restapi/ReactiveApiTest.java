@@ -0,0 +1,245 @@
+package com.afs.restapi;
+
+import com.afs.restapi.entity.Company;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.repository.CompanyR2dbcRepository;
+import com.afs.restapi.repository.EmployeeR2dbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("reactive")
+class ReactiveApiTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private CompanyR2dbcRepository companyR2dbcRepository;
+
+    @Autowired
+    private EmployeeR2dbcRepository employeeR2dbcRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("delete from employee").then().block();
+        databaseClient.sql("delete from company").then().block();
+    }
+
+    @Test
+    void should_find_employee_by_id() {
+        Employee employee = saveEmployee(getEmployeeBob());
+
+        webTestClient.get().uri("/employees/{id}", employee.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(employee.getId())
+                .jsonPath("$.name").isEqualTo(employee.getName())
+                .jsonPath("$.age").isEqualTo(employee.getAge())
+                .jsonPath("$.gender").isEqualTo(employee.getGender())
+                .jsonPath("$.salary").isEqualTo(employee.getSalary());
+    }
+
+    @Test
+    void should_return_404_when_find_employee_given_not_exist_id() {
+        webTestClient.get().uri("/employees/{id}", 99L)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo(404);
+    }
+
+    @Test
+    void should_create_employee() {
+        webTestClient.post().uri("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(getEmployeeBob())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNotEmpty()
+                .jsonPath("$.name").isEqualTo("Bob");
+
+        assertEquals(1, countEmployees());
+    }
+
+    @Test
+    void should_return_400_when_create_employee_given_invalid_age() {
+        Employee employee = getEmployeeBob();
+        employee.setAge(10);
+
+        webTestClient.post().uri("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void should_update_employee_age_and_salary() {
+        Employee employee = saveEmployee(getEmployeeBob());
+
+        webTestClient.put().uri("/employees/{id}", employee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new Employee(null, null, 30, null, 20000))
+                .exchange()
+                .expectStatus().isNoContent();
+
+        Employee updatedEmployee = employeeR2dbcRepository.findById(employee.getId()).block();
+        assertEquals(30, updatedEmployee.getAge());
+        assertEquals(20000, updatedEmployee.getSalary());
+        assertEquals("Bob", updatedEmployee.getName());
+    }
+
+    @Test
+    void should_find_employees_by_page_and_cursor() {
+        Employee bob = saveEmployee(getEmployeeBob());
+        Employee susan = saveEmployee(getEmployeeSusan());
+
+        webTestClient.get().uri("/employees?pageNumber=2&pageSize=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(susan.getId());
+
+        webTestClient.get().uri("/employees?limit=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].id").isEqualTo(bob.getId())
+                .jsonPath("$.nextCursor").isNotEmpty();
+    }
+
+    @Test
+    void should_stream_employees_as_ndjson() {
+        saveEmployee(getEmployeeBob());
+        saveEmployee(getEmployeeSusan());
+
+        List<Employee> employees = webTestClient.get().uri("/employees/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Employee.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(2, employees.size());
+        assertEquals("Bob", employees.get(0).getName());
+        assertEquals("Susan", employees.get(1).getName());
+    }
+
+    @Test
+    void should_find_company_with_employees() {
+        Company company = saveCompany(new Company(null, "spring"));
+        Employee employee = getEmployeeBob();
+        employee.setCompanyId(company.getId());
+        saveEmployee(employee);
+
+        webTestClient.get().uri("/companies")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].name").isEqualTo("spring")
+                .jsonPath("$[0].employees[0].name").isEqualTo("Bob");
+
+        webTestClient.get().uri("/companies?includeEmployees=false")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].name").isEqualTo("spring")
+                .jsonPath("$[0].employees").doesNotExist();
+    }
+
+    @Test
+    void should_delete_company_and_its_employees() {
+        Company company = saveCompany(new Company(null, "spring"));
+        Employee employee = getEmployeeBob();
+        employee.setCompanyId(company.getId());
+        saveEmployee(employee);
+
+        webTestClient.delete().uri("/companies/{id}", company.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        assertNull(companyR2dbcRepository.findById(company.getId()).block());
+        assertEquals(0, countEmployees());
+    }
+
+    @Test
+    void should_return_404_when_delete_company_given_not_exist_id() {
+        webTestClient.delete().uri("/companies/{id}", 99L)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void should_insert_nothing_when_create_employees_in_batch_given_insert_fails_partway() {
+        Employee employee = getEmployeeBob();
+        employee.setCompanyId(99L);
+
+        webTestClient.post().uri("/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(getEmployeeBob(), employee))
+                .exchange()
+                .expectStatus().is5xxServerError();
+
+        assertEquals(0, countEmployees());
+    }
+
+    @Test
+    void should_not_time_reactive_service_methods_as_service_calls() {
+        Employee employee = saveEmployee(getEmployeeBob());
+
+        webTestClient.get().uri("/employees/{id}", employee.getId())
+                .exchange()
+                .expectStatus().isOk();
+
+        assertNull(meterRegistry.find("service.method").tag("class", "ReactiveEmployeeService").timer());
+    }
+
+    private Employee saveEmployee(Employee employee) {
+        return employeeR2dbcRepository.insert(employee).block();
+    }
+
+    private Company saveCompany(Company company) {
+        return companyR2dbcRepository.insert(company).block();
+    }
+
+    private long countEmployees() {
+        return databaseClient.sql("select count(*) from employee")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .block();
+    }
+
+    private static Employee getEmployeeBob() {
+        return new Employee(null, "Bob", 22, "Male", 10000);
+    }
+
+    private static Employee getEmployeeSusan() {
+        return new Employee(null, "Susan", 23, "Female", 11000);
+    }
+}
@@ -0,0 +1,100 @@
+package com.afs.restapi;
+
+import com.afs.restapi.config.ReplicaLagMonitor;
+import com.afs.restapi.repository.EmployeeJPARepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = {
+        "replica-routing.enabled=true",
+        "replica-routing.replicas[0].url=" + ReplicaRoutingApiTest.REPLICA_URL,
+        "replica-routing.replicas[0].username=sa",
+        "replica-routing.lag-query=select seconds from replica_lag",
+        "replica-routing.max-lag=5s",
+        "replica-routing.check-interval=1h"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingApiTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica_db;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeJPARepository employeeJPARepository;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        employeeJPARepository.deleteAll();
+        DriverManagerDataSource replicaDataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure()
+                .dataSource(replicaDataSource)
+                .locations("classpath:db/migration/h2")
+                .load()
+                .migrate();
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("create table if not exists replica_lag (seconds double)");
+        replica.update("delete from replica_lag");
+        replica.update("insert into replica_lag (seconds) values (0)");
+        replica.update("delete from employee");
+        replica.update("insert into employee (name, age, gender, salary) values ('Replica', 30, 'Female', 5000)");
+        replicaLagMonitor.checkReplicas();
+    }
+
+    @Test
+    void should_read_from_replica_and_write_to_primary_when_replica_within_max_lag() throws Exception {
+        mockMvc.perform(post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Primary\",\"age\":22,\"gender\":\"Male\",\"salary\":1000}"))
+                .andExpect(MockMvcResultMatchers.status().is(201));
+
+        mockMvc.perform(get("/employees"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value("Replica"));
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        assertEquals(1, primary.queryForObject("select count(*) from employee where name = 'Primary'", Integer.class));
+        assertEquals(0, replica.queryForObject("select count(*) from employee where name = 'Primary'", Integer.class));
+    }
+
+    @Test
+    void should_read_from_primary_when_replica_lags_behind_max_lag() throws Exception {
+        mockMvc.perform(post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Primary\",\"age\":22,\"gender\":\"Male\",\"salary\":1000}"))
+                .andExpect(MockMvcResultMatchers.status().is(201));
+        replica.update("update replica_lag set seconds = 60");
+
+        replicaLagMonitor.checkReplicas();
+
+        mockMvc.perform(get("/employees"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value("Primary"));
+    }
+}
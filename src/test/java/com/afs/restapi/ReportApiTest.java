@@ -0,0 +1,104 @@
+package com.afs.restapi;
+
+import com.afs.restapi.entity.Company;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.repository.CompanyJPARepository;
+import com.afs.restapi.repository.EmployeeJPARepository;
+import com.afs.restapi.service.EmployeeSnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static com.afs.restapi.EmployeeFixtures.withCompany;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReportApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeJPARepository employeeJPARepository;
+
+    @Autowired
+    private CompanyJPARepository companyJPARepository;
+
+    @Autowired
+    private EmployeeSnapshot employeeSnapshot;
+
+    @BeforeEach
+    void setUp() {
+        employeeJPARepository.deleteAll();
+        employeeSnapshot.rebuild();
+    }
+
+    @Test
+    void should_summarize_employees_by_gender_and_company_from_snapshot() throws Exception {
+        Company spring = companyJPARepository.save(new Company(null, "Spring"));
+        Company boot = companyJPARepository.save(new Company(null, "Boot"));
+        employeeJPARepository.save(withCompany(new Employee(null, "Alice", 30, "Female", 6000), spring.getId()));
+        employeeJPARepository.save(withCompany(new Employee(null, "Bob", 40, "Male", 4000), spring.getId()));
+        employeeJPARepository.save(withCompany(new Employee(null, "Carol", 20, "Female", 2000), boot.getId()));
+        employeeSnapshot.rebuild();
+
+        mockMvc.perform(get("/reports/employees/summary").param("minAge", "25"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.count").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.salarySum").value(10000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.salaryMin").value(4000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.salaryMax").value(6000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.ageAvg").value(35.0));
+        mockMvc.perform(get("/reports/employees/by-gender"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].group").value("Female"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].count").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].salaryAvg").value(4000.0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].group").value("Male"));
+        mockMvc.perform(get("/reports/employees/by-company").param("gender", "Female"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].group").value(String.valueOf(spring.getId())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].salarySum").value(6000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].group").value(String.valueOf(boot.getId())));
+        mockMvc.perform(get("/reports/employees/top-salaries").param("limit", "2"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].salary").value(6000))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].salary").value(4000));
+    }
+
+    @Test
+    void should_keep_snapshot_in_sync_when_employees_created_and_deleted() throws Exception {
+        String createdEmployee = mockMvc.perform(post("/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper().writeValueAsString(new Employee(null, "Zoe", 25, "Female", 3000))))
+                .andExpect(MockMvcResultMatchers.status().is(201))
+                .andReturn().getResponse().getContentAsString();
+        long id = new ObjectMapper().readTree(createdEmployee).get("id").asLong();
+
+        mockMvc.perform(get("/reports/employees/summary"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.count").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.salarySum").value(3000));
+
+        mockMvc.perform(delete("/employees/{id}", id))
+                .andExpect(MockMvcResultMatchers.status().is(204));
+
+        mockMvc.perform(get("/reports/employees/summary"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.count").value(0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.salaryAvg").isEmpty());
+        mockMvc.perform(get("/reports/snapshot"))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.rows").value(0));
+    }
+}
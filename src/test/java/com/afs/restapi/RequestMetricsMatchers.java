@@ -0,0 +1,28 @@
+package com.afs.restapi;
+
+import com.afs.restapi.config.RequestMetrics;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+final class RequestMetricsMatchers {
+
+    private RequestMetricsMatchers() {
+    }
+
+    static ResultMatcher queryCount(int expected) {
+        return result -> assertEquals(expected, requestMetrics(result).getQueryCount(), "JDBC statements executed by the request");
+    }
+
+    static ResultMatcher rowCount(long expected) {
+        return result -> assertEquals(expected, requestMetrics(result).getRowCount(), "rows fetched by the request");
+    }
+
+    private static RequestMetrics requestMetrics(MvcResult result) {
+        RequestMetrics metrics = (RequestMetrics) result.getRequest().getAttribute(RequestMetrics.ATTRIBUTE);
+        assertNotNull(metrics, "request was not measured by RequestMetricsFilter");
+        return metrics;
+    }
+}
@@ -0,0 +1,165 @@
+package com.afs.restapi;
+
+import com.afs.restapi.config.CacheConfig;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.repository.EmployeeJPARepository;
+import com.afs.restapi.service.EmployeeWriteBehindBuffer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+@SpringBootTest(properties = {
+        "employee.write-behind.enabled=true",
+        "employee.write-behind.flush-interval=1h",
+        "employee.write-behind.max-pending=1000"
+})
+@AutoConfigureMockMvc
+class WriteBehindApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeJPARepository employeeJPARepository;
+
+    @Autowired
+    private EmployeeWriteBehindBuffer employeeWriteBehindBuffer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        employeeWriteBehindBuffer.flush();
+        employeeJPARepository.deleteAll();
+    }
+
+    @Test
+    void should_merge_buffered_updates_and_read_own_writes_before_flush() throws Exception {
+        Employee employee = employeeJPARepository.save(new Employee(null, "Lucy", 20, "Female", 3000));
+
+        mockMvc.perform(put("/employees/{id}", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"salary\":4000}"))
+                .andExpect(MockMvcResultMatchers.status().is(204));
+        mockMvc.perform(put("/employees/{id}", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\":21,\"salary\":5000}"))
+                .andExpect(MockMvcResultMatchers.status().is(204));
+
+        mockMvc.perform(get("/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.age").value(21))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.salary").value(5000));
+        assertEquals(3000, readEmployeeRow(employee.getId()).get("salary"));
+
+        long flushedBefore = meterRegistry.get("employee.write.behind.flush.lag").timer().count();
+        employeeWriteBehindBuffer.flush();
+
+        Map<String, Object> row = readEmployeeRow(employee.getId());
+        assertEquals(21, row.get("age"));
+        assertEquals(5000, row.get("salary"));
+        assertEquals(1L, ((Number) row.get("version")).longValue());
+        assertEquals(flushedBefore + 1, meterRegistry.get("employee.write.behind.flush.lag").timer().count());
+        mockMvc.perform(get("/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.salary").value(5000));
+    }
+
+    @Test
+    void should_not_serve_cached_employee_while_update_is_buffered() throws Exception {
+        Employee employee = employeeJPARepository.save(new Employee(null, "Lucy", 20, "Female", 3000));
+        mockMvc.perform(put("/employees/{id}", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"salary\":4000}"))
+                .andExpect(MockMvcResultMatchers.status().is(204))
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.ETAG));
+        cacheManager.getCache(CacheConfig.EMPLOYEES).put(employee.getId(), employee);
+
+        mockMvc.perform(get("/employees/{id}", employee.getId()))
+                .andExpect(MockMvcResultMatchers.status().is(200))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.salary").value(4000));
+    }
+
+    @Test
+    void should_update_synchronously_after_flushing_buffer_when_if_match_given() throws Exception {
+        Employee employee = employeeJPARepository.save(new Employee(null, "Lucy", 20, "Female", 3000));
+        mockMvc.perform(put("/employees/{id}", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"salary\":4000}"))
+                .andExpect(MockMvcResultMatchers.status().is(204));
+
+        mockMvc.perform(put("/employees/{id}", employee.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"age\":30}"))
+                .andExpect(MockMvcResultMatchers.status().is(204))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"2\""));
+
+        Map<String, Object> row = readEmployeeRow(employee.getId());
+        assertEquals(30, row.get("age"));
+        assertEquals(4000, row.get("salary"));
+    }
+
+    @Test
+    void should_return_404_without_buffering_when_update_given_unknown_employee() throws Exception {
+        mockMvc.perform(put("/employees/{id}", 99)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"salary\":4000}"))
+                .andExpect(MockMvcResultMatchers.status().is(404));
+
+        assertFalse(employeeWriteBehindBuffer.hasPending(99L));
+    }
+
+    @Test
+    void should_not_requeue_in_flight_update_when_discarded_before_flush_rolls_back() throws Exception {
+        Employee employee = employeeJPARepository.save(new Employee(null, "Lucy", 20, "Female", 3000));
+        mockMvc.perform(put("/employees/{id}", employee.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"salary\":4000}"))
+                .andExpect(MockMvcResultMatchers.status().is(204));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            employeeWriteBehindBuffer.flush(employee.getId());
+            employeeWriteBehindBuffer.discard(employee.getId());
+            assertFalse(employeeWriteBehindBuffer.hasPending(employee.getId()));
+            status.setRollbackOnly();
+        });
+
+        assertFalse(employeeWriteBehindBuffer.hasPending(employee.getId()));
+        assertEquals(3000, readEmployeeRow(employee.getId()).get("salary"));
+    }
+
+    private Map<String, Object> readEmployeeRow(Long id) {
+        return jdbcTemplate.queryForMap("select age, salary, version from employee where id = ?", id);
+    }
+}
@@ -0,0 +1,152 @@
+package com.afs.restapi.load;
+
+import com.afs.restapi.entity.Company;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.repository.CompanyJPARepository;
+import com.afs.restapi.repository.EmployeeJPARepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "logging.level.com.afs.restapi.config.RequestMetricsFilter=warn"
+})
+class HttpLoadTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpLoadTest.class);
+
+    private static final int SEED_CHUNK_SIZE = 1000;
+    private static final String[] GENDERS = {"Female", "Male"};
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CompanyJPARepository companyJPARepository;
+
+    @Autowired
+    private EmployeeJPARepository employeeJPARepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void should_stay_within_baseline_when_replaying_mixed_traffic() throws Exception {
+        LoadBaseline baseline = readBaseline();
+        List<Long> companyIds = seedCompanies(baseline.getCompanies());
+        List<Long> employeeIds = seedEmployees(baseline.getEmployees(), companyIds);
+
+        LoadHarness harness = new LoadHarness(HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build(),
+                operations(companyIds, employeeIds));
+        LoadResult result = harness.run(baseline.getConcurrency(), Duration.ofSeconds(baseline.getWarmupSeconds()),
+                Duration.ofSeconds(baseline.getMeasurementSeconds()));
+
+        writeReport(result);
+        LOGGER.info("HTTP load test results:\n{}", result.summary());
+        List<String> violations = baseline.violations(result);
+        assertTrue(violations.isEmpty(), () -> "load regressed past baseline:\n" + String.join("\n", violations));
+    }
+
+    private List<LoadHarness.Operation> operations(List<Long> companyIds, List<Long> employeeIds) {
+        int pages = Math.max(1, employeeIds.size() / 20);
+        int companyPages = Math.max(1, companyIds.size() / 10);
+        return List.of(
+                new LoadHarness.Operation("getEmployee", 40, Set.of(200),
+                        random -> get("/employees/" + pick(employeeIds, random))),
+                new LoadHarness.Operation("listEmployees", 15, Set.of(200),
+                        random -> get("/employees?pageNumber=" + (random.nextInt(pages) + 1) + "&pageSize=20")),
+                new LoadHarness.Operation("listCompanies", 10, Set.of(200),
+                        random -> get("/companies?pageNumber=" + (random.nextInt(companyPages) + 1) + "&pageSize=10")),
+                new LoadHarness.Operation("companyEmployees", 15, Set.of(200),
+                        random -> get("/companies/" + pick(companyIds, random) + "/employees")),
+                new LoadHarness.Operation("createEmployee", 10, Set.of(201),
+                        random -> send("POST", "/employees", String.format(
+                                "{\"name\":\"load-%d\",\"age\":%d,\"gender\":\"%s\",\"salary\":%d,\"companyId\":%d}",
+                                random.nextInt(1_000_000), 18 + random.nextInt(48), GENDERS[random.nextInt(2)],
+                                1000 + random.nextInt(9000), pick(companyIds, random)))),
+                new LoadHarness.Operation("updateEmployee", 10, Set.of(204),
+                        random -> send("PUT", "/employees/" + pick(employeeIds, random), String.format(
+                                "{\"age\":%d,\"salary\":%d}", 18 + random.nextInt(48), 1000 + random.nextInt(9000))))
+        );
+    }
+
+    private List<Long> seedCompanies(int count) {
+        List<Company> companies = IntStream.range(0, count)
+                .mapToObj(index -> new Company(null, "company-" + index))
+                .collect(Collectors.toList());
+        return companyJPARepository.saveAll(companies).stream().map(Company::getId).collect(Collectors.toList());
+    }
+
+    private List<Long> seedEmployees(int count, List<Long> companyIds) {
+        Random random = new Random(42);
+        List<Long> ids = new ArrayList<>(count);
+        for (int start = 0; start < count; start += SEED_CHUNK_SIZE) {
+            List<Employee> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+            for (int index = start; index < Math.min(count, start + SEED_CHUNK_SIZE); index++) {
+                Employee employee = new Employee(null, "employee-" + index, 18 + random.nextInt(48),
+                        GENDERS[random.nextInt(2)], 1000 + random.nextInt(9000));
+                employee.setCompanyId(companyIds.get(random.nextInt(companyIds.size())));
+                chunk.add(employee);
+            }
+            employeeJPARepository.insertAll(chunk).forEach(employee -> ids.add(employee.getId()));
+        }
+        return ids;
+    }
+
+    private LoadBaseline readBaseline() throws IOException {
+        try (InputStream baseline = getClass().getResourceAsStream("/load/baseline.json")) {
+            return objectMapper.readValue(baseline, LoadBaseline.class);
+        }
+    }
+
+    private void writeReport(LoadResult result) throws IOException {
+        Path reportDir = Path.of(System.getProperty("load.reportDir", "build/reports/load"));
+        Files.createDirectories(reportDir);
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(reportDir.resolve("http-load-result.json").toFile(), result);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest send(String method, String path, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static Long pick(List<Long> ids, ThreadLocalRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,140 @@
+package com.afs.restapi.load;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class LoadBaseline {
+
+    private int companies;
+    private int employees;
+    private int concurrency;
+    private int warmupSeconds;
+    private int measurementSeconds;
+    private double tolerance;
+    private Threshold overall = new Threshold();
+    private Map<String, Threshold> operations = new LinkedHashMap<>();
+
+    List<String> violations(LoadResult result) {
+        List<String> violations = new ArrayList<>(overall.violations("overall", result.getOverall(), tolerance));
+        operations.forEach((name, threshold) -> {
+            LoadResult.OperationStats stats = result.getOperations().get(name);
+            if (stats == null || stats.getCount() == 0) {
+                violations.add(name + ": no requests were measured");
+            } else {
+                violations.addAll(threshold.violations(name, stats, tolerance));
+            }
+        });
+        return violations;
+    }
+
+    public int getCompanies() {
+        return companies;
+    }
+
+    public void setCompanies(int companies) {
+        this.companies = companies;
+    }
+
+    public int getEmployees() {
+        return employees;
+    }
+
+    public void setEmployees(int employees) {
+        this.employees = employees;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public void setWarmupSeconds(int warmupSeconds) {
+        this.warmupSeconds = warmupSeconds;
+    }
+
+    public int getMeasurementSeconds() {
+        return measurementSeconds;
+    }
+
+    public void setMeasurementSeconds(int measurementSeconds) {
+        this.measurementSeconds = measurementSeconds;
+    }
+
+    public double getTolerance() {
+        return tolerance;
+    }
+
+    public void setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    public Threshold getOverall() {
+        return overall;
+    }
+
+    public void setOverall(Threshold overall) {
+        this.overall = overall;
+    }
+
+    public Map<String, Threshold> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(Map<String, Threshold> operations) {
+        this.operations = operations;
+    }
+
+    public static class Threshold {
+
+        private Double minThroughput;
+        private Double maxP99Millis;
+        private double maxErrorRate;
+
+        List<String> violations(String name, LoadResult.OperationStats stats, double tolerance) {
+            List<String> violations = new ArrayList<>();
+            if (minThroughput != null && stats.getThroughput() < minThroughput * (1 - tolerance)) {
+                violations.add(String.format("%s: throughput %.1f/s is below baseline %.1f/s", name, stats.getThroughput(), minThroughput));
+            }
+            if (maxP99Millis != null && stats.getP99Millis() > maxP99Millis * (1 + tolerance)) {
+                violations.add(String.format("%s: p99 %.1fms is above baseline %.1fms", name, stats.getP99Millis(), maxP99Millis));
+            }
+            if (stats.getErrorRate() > maxErrorRate) {
+                violations.add(String.format("%s: error rate %.4f is above baseline %.4f", name, stats.getErrorRate(), maxErrorRate));
+            }
+            return violations;
+        }
+
+        public Double getMinThroughput() {
+            return minThroughput;
+        }
+
+        public void setMinThroughput(Double minThroughput) {
+            this.minThroughput = minThroughput;
+        }
+
+        public Double getMaxP99Millis() {
+            return maxP99Millis;
+        }
+
+        public void setMaxP99Millis(Double maxP99Millis) {
+            this.maxP99Millis = maxP99Millis;
+        }
+
+        public double getMaxErrorRate() {
+            return maxErrorRate;
+        }
+
+        public void setMaxErrorRate(double maxErrorRate) {
+            this.maxErrorRate = maxErrorRate;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.afs.restapi.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+final class LoadHarness {
+
+    private final HttpClient client;
+    private final List<Operation> operations;
+    private final int totalWeight;
+
+    LoadHarness(HttpClient client, List<Operation> operations) {
+        this.client = client;
+        this.operations = operations;
+        this.totalWeight = operations.stream().mapToInt(Operation::getWeight).sum();
+    }
+
+    LoadResult run(int concurrency, Duration warmup, Duration measurement) throws InterruptedException {
+        Map<String, LoadResult.Recorder> recorders = new LinkedHashMap<>();
+        operations.forEach(operation -> recorders.put(operation.getName(), new LoadResult.Recorder()));
+        long measureStart = System.nanoTime() + warmup.toNanos();
+        long measureEnd = measureStart + measurement.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        for (int index = 0; index < concurrency; index++) {
+            clients.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long now;
+                while ((now = System.nanoTime()) < measureEnd) {
+                    Operation operation = pick(random.nextInt(totalWeight));
+                    boolean ok = send(operation, random);
+                    long end = System.nanoTime();
+                    if (now >= measureStart && end <= measureEnd) {
+                        recorders.get(operation.getName()).record(end - now, ok);
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        if (!clients.awaitTermination(warmup.plus(measurement).toSeconds() + 60, TimeUnit.SECONDS)) {
+            clients.shutdownNow();
+            throw new IllegalStateException("load clients did not finish in time");
+        }
+        return LoadResult.from(recorders, measurement);
+    }
+
+    private Operation pick(int ticket) {
+        for (Operation operation : operations) {
+            ticket -= operation.getWeight();
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    private boolean send(Operation operation, ThreadLocalRandom random) {
+        try {
+            HttpResponse<Void> response = client.send(operation.getRequestFactory().apply(random),
+                    HttpResponse.BodyHandlers.discarding());
+            return operation.getExpectedStatuses().contains(response.statusCode());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception exception) {
+            return false;
+        }
+    }
+
+    static final class Operation {
+        private final String name;
+        private final int weight;
+        private final Set<Integer> expectedStatuses;
+        private final Function<ThreadLocalRandom, HttpRequest> requestFactory;
+
+        Operation(String name, int weight, Set<Integer> expectedStatuses, Function<ThreadLocalRandom, HttpRequest> requestFactory) {
+            this.name = name;
+            this.weight = weight;
+            this.expectedStatuses = expectedStatuses;
+            this.requestFactory = requestFactory;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        int getWeight() {
+            return weight;
+        }
+
+        Set<Integer> getExpectedStatuses() {
+            return expectedStatuses;
+        }
+
+        Function<ThreadLocalRandom, HttpRequest> getRequestFactory() {
+            return requestFactory;
+        }
+    }
+}
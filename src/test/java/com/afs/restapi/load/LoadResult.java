@@ -0,0 +1,145 @@
+package com.afs.restapi.load;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+final class LoadResult {
+
+    private final OperationStats overall;
+    private final Map<String, OperationStats> operations;
+
+    private LoadResult(OperationStats overall, Map<String, OperationStats> operations) {
+        this.overall = overall;
+        this.operations = operations;
+    }
+
+    static LoadResult from(Map<String, Recorder> recorders, Duration measurement) {
+        Map<String, OperationStats> operations = new LinkedHashMap<>();
+        Recorder all = new Recorder();
+        recorders.forEach((name, recorder) -> {
+            operations.put(name, recorder.toStats(measurement));
+            all.addAll(recorder);
+        });
+        return new LoadResult(all.toStats(measurement), operations);
+    }
+
+    public OperationStats getOverall() {
+        return overall;
+    }
+
+    public Map<String, OperationStats> getOperations() {
+        return operations;
+    }
+
+    String summary() {
+        StringBuilder summary = new StringBuilder(String.format("%-16s %s%n", "overall", overall));
+        operations.forEach((name, stats) -> summary.append(String.format("%-16s %s%n", name, stats)));
+        return summary.toString();
+    }
+
+    static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        synchronized void record(long latencyNanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized void addAll(Recorder other) {
+            synchronized (other) {
+                for (int index = 0; index < other.count; index++) {
+                    record(other.latencies[index], true);
+                }
+                errors += other.errors;
+            }
+        }
+
+        synchronized OperationStats toStats(Duration measurement) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new OperationStats(count, errors, count / (measurement.toNanos() / (double) TimeUnit.SECONDS.toNanos(1)),
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : toMillis(sorted[sorted.length - 1]));
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return toMillis(sorted[(int) Math.ceil(sorted.length * percentile) - 1]);
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+
+    static final class OperationStats {
+        private final long count;
+        private final long errors;
+        private final double throughput;
+        private final double p50Millis;
+        private final double p95Millis;
+        private final double p99Millis;
+        private final double maxMillis;
+
+        OperationStats(long count, long errors, double throughput, double p50Millis, double p95Millis, double p99Millis,
+                       double maxMillis) {
+            this.count = count;
+            this.errors = errors;
+            this.throughput = throughput;
+            this.p50Millis = p50Millis;
+            this.p95Millis = p95Millis;
+            this.p99Millis = p99Millis;
+            this.maxMillis = maxMillis;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getErrorRate() {
+            return count == 0 ? 0 : errors / (double) count;
+        }
+
+        public double getThroughput() {
+            return throughput;
+        }
+
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        public double getP95Millis() {
+            return p95Millis;
+        }
+
+        public double getP99Millis() {
+            return p99Millis;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d errors=%d throughput=%.1f/s p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms",
+                    count, errors, throughput, p50Millis, p95Millis, p99Millis, maxMillis);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.afs.restapi.service;
 
+import com.afs.restapi.dto.CompanyVersionTag;
 import com.afs.restapi.entity.Company;
 import com.afs.restapi.entity.Employee;
+import com.afs.restapi.exception.CompanyNotFoundException;
 import com.afs.restapi.repository.CompanyJPARepository;
 import com.afs.restapi.repository.EmployeeJPARepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +16,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 class CompanyServiceTest {
@@ -26,7 +29,8 @@ class CompanyServiceTest {
     void setUp() {
         mockedCompanyJPARepository = mock(CompanyJPARepository.class);
         mockedEmployeeJPARepository = mock(EmployeeJPARepository.class);
-        companyService = new CompanyService(mockedCompanyJPARepository, mockedEmployeeJPARepository);
+        companyService = new CompanyService(mockedCompanyJPARepository, mockedEmployeeJPARepository,
+                new EmployeeChangePublisher(List.of()));
     }
 
     @Test
@@ -82,12 +86,26 @@ class CompanyServiceTest {
     void should_delete_one_time_when_delete_given_company_jpa_service_and_active_company() {
         // Given
         Company company = new Company(1L, "OOCL");
+        when(mockedCompanyJPARepository.deleteByIdInBatch(company.getId())).thenReturn(1);
 
         // When
         companyService.delete(company.getId());
 
         // Then
-        verify(mockedCompanyJPARepository, times(1)).deleteById(company.getId());
+        verify(mockedEmployeeJPARepository, times(1)).deleteAllByCompanyIdInBatch(company.getId());
+        verify(mockedCompanyJPARepository, times(1)).deleteByIdInBatch(company.getId());
+    }
+
+    @Test
+    void should_throw_exception_when_delete_given_company_jpa_service_and_not_exist_company() {
+        // Given
+        when(mockedCompanyJPARepository.deleteByIdInBatch(99L)).thenReturn(0);
+
+        // When
+        CompanyNotFoundException exception = assertThrows(CompanyNotFoundException.class, () -> companyService.delete(99L));
+
+        // Then
+        assertEquals("company id not found", exception.getMessage());
     }
 
     @Test
@@ -106,17 +124,20 @@ class CompanyServiceTest {
     }
 
     @Test
-    void should_return_updated_company_when_update_given_company_jpa_service_and_company_name() {
+    void should_return_refreshed_version_tag_when_update_given_company_jpa_service_and_company_name() {
         // Given
         Company company = new Company(1L, "OOCL");
         Company updatedCompanyInfo = new Company(null, "Thoughtworks");
         when(mockedCompanyJPARepository.findById(company.getId())).thenReturn(Optional.of(company));
+        when(mockedCompanyJPARepository.findVersionTagById(company.getId()))
+                .thenReturn(Optional.of(new CompanyVersionTag(1L, 0L, 0L, 0L)));
 
         // When
-        companyService.update(company.getId(), updatedCompanyInfo);
+        String versionTag = companyService.update(company.getId(), updatedCompanyInfo, null);
 
         // Then
-        verify(mockedCompanyJPARepository).save(argThat(tempCompany -> {
+        assertEquals("1-0-0-0", versionTag);
+        verify(mockedCompanyJPARepository).saveAndFlush(argThat(tempCompany -> {
             assertEquals(company.getId(), tempCompany.getId());
             assertEquals("Thoughtworks", tempCompany.getName());
             return true;
@@ -1,19 +1,30 @@
 package com.afs.restapi.service;
 
+import com.afs.restapi.dto.CursorPage;
+import com.afs.restapi.dto.EmployeeBatchResult;
+import com.afs.restapi.dto.EmployeeSearchCriteria;
 import com.afs.restapi.entity.Employee;
 import com.afs.restapi.exception.EmployeeCreateException;
+import com.afs.restapi.exception.EmployeeNotFoundException;
+import com.afs.restapi.exception.InvalidGroupByException;
+import com.afs.restapi.exception.InvalidSortException;
+import com.afs.restapi.exception.VersionMismatchException;
 import com.afs.restapi.repository.EmployeeJPARepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
@@ -22,11 +33,19 @@ class EmployeeServiceTest {
 
     private EmployeeService employeeService;
     private EmployeeJPARepository mockedEmployeeJPARepository;
+    private EmployeeNameIndex mockedEmployeeNameIndex;
+    private EmployeeChangeListener mockedEmployeeChangeListener;
+    private EmployeeWriteBehindBuffer mockedEmployeeWriteBehindBuffer;
 
     @BeforeEach
     void setUp() {
         mockedEmployeeJPARepository = mock(EmployeeJPARepository.class);
-        employeeService = new EmployeeService(mockedEmployeeJPARepository);
+        mockedEmployeeNameIndex = mock(EmployeeNameIndex.class);
+        mockedEmployeeChangeListener = mock(EmployeeChangeListener.class);
+        mockedEmployeeWriteBehindBuffer = mock(EmployeeWriteBehindBuffer.class);
+        when(mockedEmployeeWriteBehindBuffer.overlay(any(Employee.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        employeeService = new EmployeeService(mockedEmployeeJPARepository, mockedEmployeeNameIndex,
+                new EmployeeChangePublisher(List.of(mockedEmployeeChangeListener)), mockedEmployeeWriteBehindBuffer);
     }
 
     @Test
@@ -143,7 +162,7 @@ class EmployeeServiceTest {
         when(mockedEmployeeJPARepository.findById(employee.getId())).thenReturn(Optional.of(employee));
 
         // When
-        employeeService.update(employee.getId(), updatedEmployeeInfo);
+        employeeService.update(employee.getId(), updatedEmployeeInfo, null);
 
         // Then
         verify(mockedEmployeeJPARepository).save(argThat(tempEmployee -> {
@@ -155,6 +174,50 @@ class EmployeeServiceTest {
         }));
     }
 
+    @Test
+    void should_buffer_update_without_saving_when_bufferUpdate_given_write_behind_enabled() {
+        // Given
+        Employee updatedEmployeeInfo = new Employee(null, null, null, null, 10000);
+        when(mockedEmployeeWriteBehindBuffer.isEnabled()).thenReturn(true);
+        when(mockedEmployeeJPARepository.findById(1L)).thenReturn(Optional.of(new Employee(1L, "Lucy", 20, "Female", 3000)));
+
+        // When
+        boolean buffered = employeeService.bufferUpdate(1L, updatedEmployeeInfo);
+
+        // Then
+        assertEquals(true, buffered);
+        verify(mockedEmployeeWriteBehindBuffer).enqueue(1L, updatedEmployeeInfo);
+        verify(mockedEmployeeJPARepository, never()).save(any());
+    }
+
+    @Test
+    void should_throw_not_found_without_buffering_when_bufferUpdate_given_unknown_employee() {
+        // Given
+        when(mockedEmployeeWriteBehindBuffer.isEnabled()).thenReturn(true);
+        when(mockedEmployeeJPARepository.findById(1L)).thenReturn(Optional.empty());
+
+        // When, Then
+        assertThrows(EmployeeNotFoundException.class,
+                () -> employeeService.bufferUpdate(1L, new Employee(null, null, null, null, 10000)));
+        verify(mockedEmployeeWriteBehindBuffer, never()).enqueue(any(), any());
+    }
+
+    @Test
+    void should_flush_buffered_updates_before_saving_when_update_given_pending_update_for_employee() {
+        // Given
+        Employee employee = new Employee(1L, "Lucy", 20, "Female", 3000);
+        when(mockedEmployeeWriteBehindBuffer.hasPending(employee.getId())).thenReturn(true);
+        when(mockedEmployeeJPARepository.findById(employee.getId())).thenReturn(Optional.of(employee));
+
+        // When
+        employeeService.update(employee.getId(), new Employee(null, null, 30, null, null), null);
+
+        // Then
+        InOrder inOrder = inOrder(mockedEmployeeWriteBehindBuffer, mockedEmployeeJPARepository);
+        inOrder.verify(mockedEmployeeWriteBehindBuffer).flush(employee.getId());
+        inOrder.verify(mockedEmployeeJPARepository).save(employee);
+    }
+
     @Test
     void should_paged_employees_when_get_employees_by_page_given_employee_jpa_service_and_pageNumber_and_pageSize() {
         // Given
@@ -175,4 +238,155 @@ class EmployeeServiceTest {
         assertEquals(pagedEmployees.get(0).getGender(), alice.getGender());
         assertEquals(pagedEmployees.get(0).getSalary(), alice.getSalary());
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_return_next_cursor_when_findByCursor_given_employee_jpa_service_and_more_employees_after_the_page() {
+        // Given
+        Employee alice = new Employee(5L, "Alice", 24, "Female", 9000);
+        when(mockedEmployeeJPARepository.findByIdGreaterThanOrderByIdAsc(3L, PageRequest.of(0, 1)))
+                .thenReturn(new SliceImpl<>(List.of(alice), PageRequest.of(0, 1), true));
+
+        // When
+        CursorPage<Employee> page = employeeService.findByCursor(CursorPage.encode(3L), 1);
+
+        // Then
+        assertEquals(1, page.getContent().size());
+        assertEquals(alice.getId(), page.getContent().get(0).getId());
+        assertEquals(alice.getId(), CursorPage.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void should_return_no_next_cursor_when_findByCursor_given_employee_jpa_service_and_last_page() {
+        // Given
+        Employee alice = new Employee(5L, "Alice", 24, "Female", 9000);
+        when(mockedEmployeeJPARepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 2)))
+                .thenReturn(new SliceImpl<>(List.of(alice), PageRequest.of(0, 2), false));
+
+        // When
+        CursorPage<Employee> page = employeeService.findByCursor(null, 2);
+
+        // Then
+        assertEquals(1, page.getContent().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void should_insert_only_valid_employees_when_createAll_given_employee_jpa_service_and_employees_with_invalid_age() {
+        // Given
+        Employee lucy = new Employee(null, "Lucy", 20, "Female", 3000);
+        Employee tom = new Employee(null, "Tom", 70, "Male", 3000);
+        when(mockedEmployeeJPARepository.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        EmployeeBatchResult result = employeeService.createAll(List.of(lucy, tom));
+
+        // Then
+        verify(mockedEmployeeJPARepository).insertAll(List.of(lucy));
+        assertEquals(List.of(lucy), result.getCreated());
+        assertEquals(1, result.getFailures().size());
+        assertEquals(1, result.getFailures().get(0).getIndex());
+        assertEquals("Employee must be 18~65 years old", result.getFailures().get(0).getMessage());
+    }
+
+    @Test
+    void should_throw_exception_when_findStats_given_employee_jpa_service_and_unsupported_group_by() {
+        // Given
+        // When
+        InvalidGroupByException exception = assertThrows(InvalidGroupByException.class,
+                () -> employeeService.findStats("salary"));
+
+        // Then
+        assertEquals("groupBy must be gender or companyId", exception.getMessage());
+        verifyNoInteractions(mockedEmployeeJPARepository);
+    }
+
+    @Test
+    void should_throw_exception_when_patch_given_employee_jpa_service_and_not_exist_employee() {
+        // Given
+        Employee changes = new Employee(null, null, null, null, 15000);
+        when(mockedEmployeeJPARepository.updateChangedFields(99L, changes)).thenReturn(0);
+
+        // When
+        EmployeeNotFoundException exception = assertThrows(EmployeeNotFoundException.class,
+                () -> employeeService.patch(99L, changes));
+
+        // Then
+        assertEquals("employee id not found", exception.getMessage());
+        verify(mockedEmployeeJPARepository, never()).save(any());
+    }
+
+    @Test
+    void should_throw_exception_when_update_given_employee_jpa_service_and_stale_expected_version() {
+        // Given
+        Employee employee = new Employee(1L, "Lucy", 20, "Female", 3000);
+        employee.setVersion(2);
+        when(mockedEmployeeJPARepository.findById(employee.getId())).thenReturn(Optional.of(employee));
+
+        // When
+        VersionMismatchException exception = assertThrows(VersionMismatchException.class,
+                () -> employeeService.update(employee.getId(), new Employee(null, null, 30, null, 10000), 1L));
+
+        // Then
+        assertEquals("resource was modified by another request", exception.getMessage());
+        verify(mockedEmployeeJPARepository, never()).save(any());
+    }
+
+    @Test
+    void should_throw_exception_when_search_given_employee_jpa_service_and_unsupported_sort_field() {
+        // Given
+        EmployeeSearchCriteria criteria = new EmployeeSearchCriteria();
+        criteria.setSort(List.of("-name"));
+
+        // When
+        InvalidSortException exception = assertThrows(InvalidSortException.class, () -> employeeService.search(criteria));
+
+        // Then
+        assertEquals("sort must be age, salary or id, optionally prefixed with -", exception.getMessage());
+        verifyNoInteractions(mockedEmployeeJPARepository);
+    }
+
+    @Test
+    void should_return_employees_in_index_order_when_findByNameContaining_given_name_index_available() {
+        // Given
+        Employee lucy = new Employee(3L, "Lucy", 20, "Female", 3000);
+        Employee lucas = new Employee(7L, "Lucas", 30, "Male", 5000);
+        when(mockedEmployeeNameIndex.findIdsContaining("luc", 20)).thenReturn(Optional.of(List.of(3L, 7L)));
+        when(mockedEmployeeJPARepository.findAllById(List.of(3L, 7L))).thenReturn(List.of(lucas, lucy));
+
+        // When
+        List<Employee> employees = employeeService.findByNameContaining("luc", 20);
+
+        // Then
+        assertEquals(List.of(lucy, lucas), employees);
+        verify(mockedEmployeeJPARepository, never()).findByNameContainingIgnoreCaseOrderByIdAsc(anyString(), any());
+    }
+
+    @Test
+    void should_fall_back_to_like_query_when_findByNameContaining_given_name_index_unavailable() {
+        // Given
+        Employee lucy = new Employee(3L, "Lucy", 20, "Female", 3000);
+        when(mockedEmployeeNameIndex.findIdsContaining("luc", 20)).thenReturn(Optional.empty());
+        when(mockedEmployeeJPARepository.findByNameContainingIgnoreCaseOrderByIdAsc("luc", PageRequest.of(0, 20)))
+                .thenReturn(List.of(lucy));
+
+        // When
+        List<Employee> employees = employeeService.findByNameContaining("luc", 20);
+
+        // Then
+        assertEquals(List.of(lucy), employees);
+    }
+
+    @Test
+    void should_notify_change_listeners_when_create_given_employee_jpa_service_and_valid_employee() {
+        // Given
+        Employee employee = new Employee(null, "Lucy", 20, "Female", 3000);
+        Employee savedEmployee = new Employee(1L, "Lucy", 20, "Female", 3000);
+        when(mockedEmployeeJPARepository.save(employee)).thenReturn(savedEmployee);
+
+        // When
+        employeeService.create(employee);
+
+        // Then
+        verify(mockedEmployeeChangeListener).onSaved(savedEmployee);
+    }
+}
@@ -0,0 +1,125 @@
+package com.afs.restapi.service;
+
+import com.afs.restapi.dto.EmployeeReport;
+import com.afs.restapi.dto.EmployeeReportFilter;
+import com.afs.restapi.dto.EmployeeSalaryRow;
+import com.afs.restapi.entity.Employee;
+import com.afs.restapi.repository.EmployeeJPARepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.afs.restapi.EmployeeFixtures.withCompany;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class EmployeeSnapshotTest {
+
+    private EmployeeSnapshot employeeSnapshot;
+    private EmployeeJPARepository mockedEmployeeJPARepository;
+
+    @BeforeEach
+    void setUp() {
+        mockedEmployeeJPARepository = mock(EmployeeJPARepository.class);
+        employeeSnapshot = new EmployeeSnapshot(mockedEmployeeJPARepository, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void should_return_top_salaries_in_order_when_findTopSalaries_given_employees_saved_out_of_id_order() {
+        // Given
+        employeeSnapshot.onSaved(withCompany(new Employee(3L, "name3", 30, "Female", 5000), 1L));
+        employeeSnapshot.onSaved(withCompany(new Employee(1L, "name1", 25, "Male", 7000), 1L));
+        employeeSnapshot.onSaved(withCompany(new Employee(2L, "name2", 40, "Female", 5000), 2L));
+        employeeSnapshot.onSaved(withCompany(new Employee(4L, "name4", 50, "Male", null), 2L));
+
+        // When
+        List<EmployeeSalaryRow> topSalaries = employeeSnapshot.findTopSalaries(new EmployeeReportFilter(), 10);
+
+        // Then
+        assertEquals(List.of(1L, 2L, 3L), topSalaries.stream().map(EmployeeSalaryRow::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void should_apply_patches_and_company_deletes_when_summarize_given_snapshot_changes() {
+        // Given
+        employeeSnapshot.onSaved(withCompany(new Employee(1L, "name1", 20, "Female", 1000), 1L));
+        employeeSnapshot.onSaved(withCompany(new Employee(2L, "name2", 30, "Male", 2000), 2L));
+        employeeSnapshot.onSaved(withCompany(new Employee(3L, "name3", 40, "Male", 3000), 2L));
+        Employee changes = new Employee();
+        changes.setSalary(5000);
+
+        // When
+        employeeSnapshot.onPatched(1L, changes);
+        employeeSnapshot.onCompanyDeleted(2L);
+        EmployeeReport report = employeeSnapshot.summarize(new EmployeeReportFilter());
+
+        // Then
+        assertEquals(1, report.getCount());
+        assertEquals(5000, report.getSalarySum());
+        assertEquals(20.0, report.getAgeAvg());
+        assertEquals(1, employeeSnapshot.stats().getRows());
+        assertEquals(0, employeeSnapshot.stats().getDeletedRows());
+    }
+
+    @Test
+    void should_return_empty_report_when_summarize_given_unknown_gender() {
+        // Given
+        employeeSnapshot.onSaved(withCompany(new Employee(1L, "name1", 20, "Female", 1000), 1L));
+        EmployeeReportFilter filter = new EmployeeReportFilter();
+        filter.setGender("Unknown");
+
+        // When
+        EmployeeReport report = employeeSnapshot.summarize(filter);
+
+        // Then
+        assertEquals(0, report.getCount());
+        assertNull(report.getSalaryAvg());
+    }
+
+    @Test
+    void should_exclude_null_values_when_summarize_given_upper_bounds_only() {
+        // Given
+        employeeSnapshot.onSaved(withCompany(new Employee(1L, "name1", 20, "Female", 1000), 1L));
+        employeeSnapshot.onSaved(withCompany(new Employee(2L, "name2", null, "Male", 2000), 1L));
+        employeeSnapshot.onSaved(withCompany(new Employee(3L, "name3", 25, "Male", null), 1L));
+        EmployeeReportFilter filter = new EmployeeReportFilter();
+        filter.setMaxAge(30);
+        filter.setMaxSalary(5000);
+
+        // When
+        EmployeeReport report = employeeSnapshot.summarize(filter);
+
+        // Then
+        assertEquals(1, report.getCount());
+        assertEquals(1000, report.getSalarySum());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void should_replace_rows_when_rebuild_given_employees_in_repository() {
+        // Given
+        employeeSnapshot.onSaved(withCompany(new Employee(9L, "name9", 20, "Female", 1000), 1L));
+        doAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(1);
+            consumer.accept(withCompany(new Employee(1L, "name1", 30, "Male", 2000), 1L));
+            consumer.accept(withCompany(new Employee(2L, "name2", 35, "Male", 4000), 1L));
+            return null;
+        }).when(mockedEmployeeJPARepository).forEachEmployee(anyInt(), any(Consumer.class));
+
+        // When
+        employeeSnapshot.rebuild();
+        List<EmployeeReport> reports = employeeSnapshot.summarizeByGender(new EmployeeReportFilter());
+
+        // Then
+        assertEquals(1, reports.size());
+        assertEquals("Male", reports.get(0).getGroup());
+        assertEquals(3000.0, reports.get(0).getSalaryAvg());
+    }
+}